@@ -0,0 +1,95 @@
+#!/usr/bin/env bash
+# Mide el tiempo hasta el menu y la memoria (RSS maxima) de la aplicacion en cuatro modos:
+#   base        configuracion por defecto (create-drop, API HTTP, inicializacion completa)
+#   rapido      perfil "rapido" (lazy init, sin servidor HTTP, ddl-auto=validate)
+#   rapido+cds  perfil "rapido" con un archivo de clases compartidas (CDS)
+#   rapido+aot  perfil "rapido" con el codigo generado por AOT y CDS (solo si el jar se empaqueto con -Paot)
+#
+# Uso:  ./mvnw -Paot -DskipTests package && scripts/medir-arranque.sh [repeticiones] [perfil de base]
+# Sin perfil de base usa PostgreSQL (application.properties); con "embebido" cada modo
+# usa un archivo H2 propio dentro de target/arranque y no necesita servidor.
+#
+# Cada ejecucion abre el menu y sale con la opcion 0. El tiempo hasta el menu es el
+# "process running for" que informa Spring Boot al terminar de iniciar; la RSS maxima
+# es el VmHWM del proceso, leido de /proc mientras corre (solo Linux).
+set -euo pipefail
+
+REPETICIONES="${1:-5}"
+PERFIL_BASE="${2:-}"
+RAIZ="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$(ls "$RAIZ"/target/literalura-challenge-*.jar | grep -v original | head -n 1)"
+TRABAJO="$RAIZ/target/arranque"
+
+LOG_INICIO="--logging.level.com.example.literalura_challenge.LiteraluraChallengeApplication=INFO"
+
+# Formato recomendado para CDS: el jar extraido, con las dependencias en lib/
+rm -rf "$TRABAJO"
+java -Djarmode=tools -jar "$JAR" extract --destination "$TRABAJO" > /dev/null
+APP="$TRABAJO/$(basename "$JAR")"
+
+# Perfiles de cada modo, con el de la base al final
+perfiles() {
+    local lista
+    lista="$(IFS=,; echo "$*")"
+    if [[ -n "$PERFIL_BASE" ]]; then
+        lista="${lista:+$lista,}$PERFIL_BASE"
+    fi
+    if [[ -n "$lista" ]]; then
+        echo "--spring.profiles.active=$lista"
+    fi
+    if [[ "$PERFIL_BASE" == embebido ]]; then
+        echo "--literalura.embebido.archivo=$TRABAJO/biblioteca"
+    fi
+}
+
+entrenar() {
+    # Ejecucion de entrenamiento: inicia el contexto, sale y guarda las clases cargadas
+    local archivo="$1"; shift
+    java -XX:ArchiveClassesAtExit="$archivo" -Dspring.context.exit=onRefresh "$@" \
+        -jar "$APP" $(perfiles rapido) > /dev/null 2>&1
+}
+
+medir() {
+    local nombre="$1"; shift
+    local suma_ms=0 max_rss=0
+    for ((i = 1; i <= REPETICIONES; i++)); do
+        local salida="$TRABAJO/salida.log" rss=0
+        echo 0 | java "$@" -jar "$APP" "${ARGUMENTOS[@]}" $LOG_INICIO > "$salida" 2>&1 &
+        local pid=$!
+        # VmHWM solo crece: la ultima lectura antes de que termine es el maximo
+        while kill -0 "$pid" 2> /dev/null; do
+            local hwm
+            hwm="$(awk '/^VmHWM/ {print $2}' "/proc/$pid/status" 2> /dev/null || true)"
+            if [[ -n "$hwm" ]]; then rss=$hwm; fi
+            sleep 0.05
+        done
+        wait "$pid" || true
+        local segundos
+        segundos="$(grep -o 'process running for [0-9.]*' "$salida" | awk '{print $4}')"
+        if [[ -z "$segundos" ]]; then
+            echo "$nombre: la aplicacion no llego al menu, ver $salida" >&2
+            exit 1
+        fi
+        suma_ms=$((suma_ms + $(awk -v s="$segundos" 'BEGIN {printf "%d", s * 1000}')))
+        if ((rss > max_rss)); then max_rss=$rss; fi
+    done
+    printf '%-12s %8d ms %10d KB\n' "$nombre" $((suma_ms / REPETICIONES)) "$max_rss"
+}
+
+printf '%-12s %11s %13s\n' "modo" "hasta menu" "RSS maxima"
+
+mapfile -t ARGUMENTOS < <(perfiles)
+medir base
+
+mapfile -t ARGUMENTOS < <(perfiles rapido)
+medir rapido
+
+entrenar "$TRABAJO/app.jsa"
+medir rapido+cds -XX:SharedArchiveFile="$TRABAJO/app.jsa"
+
+if jar tf "$JAR" | grep -q '__BeanFactoryRegistrations'; then
+    entrenar "$TRABAJO/app-aot.jsa" -Dspring.aot.enabled=true
+    medir rapido+aot -Dspring.aot.enabled=true -XX:SharedArchiveFile="$TRABAJO/app-aot.jsa"
+else
+    echo "rapido+aot   (empaquete con -Paot para medirlo)"
+fi
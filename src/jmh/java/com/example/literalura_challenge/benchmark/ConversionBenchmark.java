@@ -0,0 +1,56 @@
+package com.example.literalura_challenge.benchmark;
+
+import com.example.literalura_challenge.model.DatosRespuesta;
+import com.example.literalura_challenge.service.ConvierteDatos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion de paginas de Gutendex con ConvierteDatos: arbol completo desde
+ * String contra lectura por flujo libro a libro.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConversionBenchmark {
+
+    @Param({"1", "32", "500"})
+    private int librosPorPagina;
+
+    private String json;
+    private byte[] bytes;
+    private ConvierteDatos conversor;
+
+    @Setup
+    public void preparar() {
+        json = PaginasGutendex.pagina(librosPorPagina);
+        bytes = json.getBytes(StandardCharsets.UTF_8);
+        conversor = new ConvierteDatos();
+    }
+
+    @Benchmark
+    public DatosRespuesta obtenerDatosDesdeString() {
+        return conversor.obtenerDatos(json, DatosRespuesta.class);
+    }
+
+    @Benchmark
+    public DatosRespuesta obtenerDatosDesdeFlujo() {
+        return conversor.obtenerDatos(new ByteArrayInputStream(bytes), DatosRespuesta.class);
+    }
+
+    @Benchmark
+    public DatosRespuesta recorrerLibros(Blackhole blackhole) {
+        return conversor.recorrerLibros(new ByteArrayInputStream(bytes), blackhole::consume);
+    }
+}
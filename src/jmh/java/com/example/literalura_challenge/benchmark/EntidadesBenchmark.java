@@ -0,0 +1,66 @@
+package com.example.literalura_challenge.benchmark;
+
+import com.example.literalura_challenge.model.Autor;
+import com.example.literalura_challenge.model.DatosLibro;
+import com.example.literalura_challenge.model.Idioma;
+import com.example.literalura_challenge.model.Libro;
+import com.example.literalura_challenge.model.LibroResumen;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Armado de entidades a partir de los DTO de Gutendex y formato de texto
+ * usado por los listados de la consola.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EntidadesBenchmark {
+
+    private DatosLibro datosLibro;
+    private Autor autor;
+    private Idioma idioma;
+    private Libro libro;
+    private LibroResumen libroResumen;
+
+    @Setup
+    public void preparar() throws Exception {
+        datosLibro = new ObjectMapper().treeToValue(PaginasGutendex.primerLibro(), DatosLibro.class);
+        autor = new Autor(datosLibro.autor().get(0));
+        autor.setId(1L);
+        idioma = new Idioma(datosLibro.idiomas().get(0));
+        idioma.setId(1);
+        libro = new Libro(datosLibro, List.of(autor), List.of(idioma));
+        libro.setId(1L);
+        libroResumen = LibroResumen.de(libro);
+    }
+
+    @Benchmark
+    public Libro crearLibro() {
+        return new Libro(datosLibro, List.of(autor), List.of(idioma));
+    }
+
+    @Benchmark
+    public String libroToString() {
+        return libro.toString();
+    }
+
+    @Benchmark
+    public String autorToString() {
+        return autor.toString();
+    }
+
+    @Benchmark
+    public String libroResumenToString() {
+        return libroResumen.toString();
+    }
+}
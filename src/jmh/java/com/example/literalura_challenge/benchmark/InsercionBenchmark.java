@@ -0,0 +1,144 @@
+package com.example.literalura_challenge.benchmark;
+
+import com.example.literalura_challenge.model.Autor;
+import com.example.literalura_challenge.model.DatosAutor;
+import com.example.literalura_challenge.model.DatosLibro;
+import com.example.literalura_challenge.model.Idioma;
+import com.example.literalura_challenge.model.Libro;
+import com.example.literalura_challenge.repository.AutorRepository;
+import com.example.literalura_challenge.repository.IdiomaRepository;
+import com.example.literalura_challenge.repository.LibroRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Libros insertados por segundo con Hibernate, con y sin lotes JDBC, y espera
+ * por conexiones del pool con varios hilos guardando a la vez (como la busqueda
+ * de varios titulos). Por defecto usa H2 en memoria; para medir PostgreSQL con
+ * reWriteBatchedInserts, indicar una base vacia de prueba:
+ * {@code -Djmh.args="InsercionBenchmark -jvmArgsAppend -Dliteralura.benchmark.url=jdbc:postgresql://localhost:5432/literalura_bench"}
+ * (usuario y clave con literalura.benchmark.usuario y literalura.benchmark.clave).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(6)
+public class InsercionBenchmark {
+
+    private static final int LIBROS_POR_TRANSACCION = 50;
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Libro.class)
+    @EnableJpaRepositories(basePackageClasses = LibroRepository.class)
+    static class ContextoRepositorios {
+    }
+
+    // hibernate.jdbc.batch_size (1 = sin lotes)
+    @Param({"1", "50"})
+    private int lote;
+
+    // Conexiones del pool: con menos conexiones que hilos, los hilos esperan al pool
+    @Param({"2", "8"})
+    private int conexiones;
+
+    private final AtomicLong contador = new AtomicLong();
+    private ConfigurableApplicationContext contexto;
+    private LibroRepository libroRepository;
+    private TransactionTemplate transactionTemplate;
+    private MeterRegistry registro;
+    private List<Autor> autores;
+    private List<Idioma> idiomas;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        String url = System.getProperty("literalura.benchmark.url");
+        List<String> argumentos = new ArrayList<>(List.of(
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.sql.init.mode=never",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + lote,
+                "--spring.jpa.properties.hibernate.order_inserts=true",
+                "--spring.datasource.hikari.maximum-pool-size=" + conexiones,
+                "--spring.datasource.hikari.minimum-idle=" + conexiones));
+        if (url != null) {
+            argumentos.addAll(List.of(
+                    "--spring.datasource.url=" + url,
+                    "--spring.datasource.username=" + System.getProperty("literalura.benchmark.usuario", "postgres"),
+                    "--spring.datasource.password=" + System.getProperty("literalura.benchmark.clave", ""),
+                    "--spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=" + (lote > 1)));
+        } else {
+            argumentos.addAll(List.of(
+                    "--spring.datasource.url=jdbc:h2:mem:insercion;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+                    "--spring.datasource.driver-class-name=org.h2.Driver",
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"));
+        }
+        contexto = new SpringApplicationBuilder(ContextoRepositorios.class)
+                .web(WebApplicationType.NONE)
+                .run(argumentos.toArray(new String[0]));
+        libroRepository = contexto.getBean(LibroRepository.class);
+        transactionTemplate = contexto.getBean(TransactionTemplate.class);
+        registro = contexto.getBean(MeterRegistry.class);
+
+        // Autores e idiomas ya existentes, como los deja ResolutorAutores y ResolutorIdiomas
+        List<Autor> nuevosAutores = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            nuevosAutores.add(new Autor(new DatosAutor("Autor " + i, 1800 + i, 1870 + i)));
+        }
+        autores = contexto.getBean(AutorRepository.class).saveAll(nuevosAutores);
+        idiomas = contexto.getBean(IdiomaRepository.class).saveAll(List.of(new Idioma("en"), new Idioma("es")));
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        // Saturacion del pool: cuanto esperaron los hilos para obtener una conexion
+        Timer espera = registro.find("hikaricp.connections.acquire").timer();
+        if (espera != null) {
+            System.out.printf("%nPool de %d conexiones: %d pedidos, espera media %.3f ms, maxima %.3f ms, %d timeouts%n",
+                    conexiones, espera.count(), espera.mean(TimeUnit.MILLISECONDS), espera.max(TimeUnit.MILLISECONDS),
+                    (long) registro.find("hikaricp.connections.timeout").counters().stream()
+                            .mapToDouble(timeouts -> timeouts.count()).sum());
+        }
+        contexto.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LIBROS_POR_TRANSACCION)
+    public List<Libro> guardarLibros() {
+        List<Libro> libros = new ArrayList<>(LIBROS_POR_TRANSACCION);
+        for (int i = 0; i < LIBROS_POR_TRANSACCION; i++) {
+            long numero = contador.incrementAndGet();
+            DatosLibro datos = new DatosLibro(numero, "Libro insertado " + numero, List.of(), List.of(), (double) numero);
+            libros.add(new Libro(datos,
+                    List.of(autores.get((int) (numero % autores.size()))),
+                    List.of(idiomas.get((int) (numero % idiomas.size())))));
+        }
+        return transactionTemplate.execute(estado -> libroRepository.saveAll(libros));
+    }
+}
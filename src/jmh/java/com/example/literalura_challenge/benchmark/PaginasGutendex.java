@@ -0,0 +1,49 @@
+package com.example.literalura_challenge.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Paginas de Gutendex de cualquier tamano armadas a partir de la respuesta
+ * grabada en gutendex/pagina-libros.json (en src/test/resources, la misma que usa
+ * EspejoCatalogoTest).
+ */
+final class PaginasGutendex {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private PaginasGutendex() {
+    }
+
+    static String pagina(int cantidadLibros) {
+        try (InputStream grabada = PaginasGutendex.class.getResourceAsStream("/gutendex/pagina-libros.json")) {
+            ObjectNode respuesta = (ObjectNode) MAPPER.readTree(grabada);
+            ArrayNode originales = (ArrayNode) respuesta.get("results");
+            ArrayNode resultados = MAPPER.createArrayNode();
+            for (int i = 0; i < cantidadLibros; i++) {
+                ObjectNode libro = originales.get(i % originales.size()).deepCopy();
+                libro.put("id", i + 1);
+                libro.put("title", libro.get("title").asText() + " (" + (i + 1) + ")");
+                resultados.add(libro);
+            }
+            respuesta.put("count", cantidadLibros);
+            respuesta.set("results", resultados);
+            return MAPPER.writeValueAsString(respuesta);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static JsonNode primerLibro() {
+        try (InputStream grabada = PaginasGutendex.class.getResourceAsStream("/gutendex/pagina-libros.json")) {
+            return MAPPER.readTree(grabada).get("results").get(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
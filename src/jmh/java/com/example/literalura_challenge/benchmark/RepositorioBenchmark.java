@@ -0,0 +1,168 @@
+package com.example.literalura_challenge.benchmark;
+
+import com.example.literalura_challenge.model.Autor;
+import com.example.literalura_challenge.model.AutorResumen;
+import com.example.literalura_challenge.model.EstadisticaIdioma;
+import com.example.literalura_challenge.model.Libro;
+import com.example.literalura_challenge.model.LibroResumen;
+import com.example.literalura_challenge.repository.AutorRepository;
+import com.example.literalura_challenge.repository.IdiomaRepository;
+import com.example.literalura_challenge.repository.LibroRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Consultas de LibroRepository y AutorRepository contra una base H2 en memoria
+ * (modo PostgreSQL) cargada con una biblioteca sintetica.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RepositorioBenchmark {
+
+    private static final String[] IDIOMAS = {"en", "es", "fr", "de", "it", "pt"};
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Libro.class)
+    @EnableJpaRepositories(basePackageClasses = LibroRepository.class)
+    static class ContextoRepositorios {
+    }
+
+    @Param({"10000"})
+    private int libros;
+
+    private ConfigurableApplicationContext contexto;
+    private LibroRepository libroRepository;
+    private AutorRepository autorRepository;
+    private IdiomaRepository idiomaRepository;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(ContextoRepositorios.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        // Mismo esquema que el perfil embebido: con los ids por defecto de libros_seq y
+                        // autores_seq, los INSERT de cargarBiblioteca no necesitan indicar el id
+                        "--spring.jpa.hibernate.ddl-auto=validate",
+                        "--spring.sql.init.mode=always",
+                        "--spring.sql.init.platform=h2",
+                        // El esquema se crea antes de que Hibernate lo valide, como en el perfil embebido
+                        "--spring.jpa.defer-datasource-initialization=false");
+        libroRepository = contexto.getBean(LibroRepository.class);
+        autorRepository = contexto.getBean(AutorRepository.class);
+        idiomaRepository = contexto.getBean(IdiomaRepository.class);
+        transactionTemplate = contexto.getBean(TransactionTemplate.class);
+        cargarBiblioteca(contexto.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        contexto.close();
+    }
+
+    private void cargarBiblioteca(JdbcTemplate jdbcTemplate) {
+        int cantidadAutores = Math.max(libros / 10, 1);
+        List<Object[]> autores = new ArrayList<>(cantidadAutores);
+        for (int i = 0; i < cantidadAutores; i++) {
+            int nacimiento = 1500 + (i * 7) % 450;
+            autores.add(new Object[]{"Autor " + i, nacimiento, i % 20 == 0 ? null : nacimiento + 30 + i % 50});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO autores (nombre, fecha_de_nacimiento, fecha_de_fallecimiento) VALUES (?, ?, ?)", autores);
+        List<Long> idsAutores = jdbcTemplate.queryForList("SELECT id FROM autores ORDER BY id", Long.class);
+
+        List<Object[]> idiomas = new ArrayList<>(IDIOMAS.length);
+        for (String codigo : IDIOMAS) {
+            idiomas.add(new Object[]{codigo});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO idiomas (codigo) VALUES (?)", idiomas);
+        List<Integer> idsIdiomas = jdbcTemplate.queryForList("SELECT id FROM idiomas ORDER BY id", Integer.class);
+
+        List<Object[]> filas = new ArrayList<>(libros);
+        for (int i = 0; i < libros; i++) {
+            filas.add(new Object[]{"Libro de prueba " + i, (double) ((i * 7919L) % 100_000)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO libros (titulo, numero_de_descargas) VALUES (?, ?)", filas);
+        List<Long> idsLibros = jdbcTemplate.queryForList("SELECT id FROM libros ORDER BY id", Long.class);
+
+        // Uno de cada cinco libros tiene un segundo autor y uno de cada ocho un segundo idioma
+        List<Object[]> librosAutores = new ArrayList<>();
+        List<Object[]> librosIdiomas = new ArrayList<>();
+        for (int i = 0; i < idsLibros.size(); i++) {
+            Long id = idsLibros.get(i);
+            librosAutores.add(new Object[]{id, idsAutores.get(i % idsAutores.size()), 0});
+            if (i % 5 == 0) {
+                librosAutores.add(new Object[]{id, idsAutores.get((i + 1) % idsAutores.size()), 1});
+            }
+            librosIdiomas.add(new Object[]{id, idsIdiomas.get(i % idsIdiomas.size()), 0});
+            if (i % 8 == 0) {
+                librosIdiomas.add(new Object[]{id, idsIdiomas.get((i + 1) % idsIdiomas.size()), 1});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO libro_autores (libro_id, autor_id, orden) VALUES (?, ?, ?)", librosAutores);
+        jdbcTemplate.batchUpdate("INSERT INTO libro_idiomas (libro_id, idioma_id, orden) VALUES (?, ?, ?)", librosIdiomas);
+    }
+
+    @Benchmark
+    public Optional<Libro> buscarPorTituloIndexado() {
+        return libroRepository.buscarPorTituloIndexado("prueba 4242");
+    }
+
+    @Benchmark
+    public List<LibroResumen> top10PorDescargas() {
+        return libroRepository.findMasDescargados(PageRequest.of(0, 10));
+    }
+
+    @Benchmark
+    public List<EstadisticaIdioma> estadisticasPorIdioma() {
+        return idiomaRepository.obtenerEstadisticasPorIdioma();
+    }
+
+    @Benchmark
+    public List<LibroResumen> librosPorIdioma() {
+        return libroRepository.findResumenesPorIdioma("fr");
+    }
+
+    @Benchmark
+    public List<Autor> autoresVivosEnAno() {
+        return autorRepository.findAutoresVivosEnAno(1800);
+    }
+
+    @Benchmark
+    public long recorrerAutores() {
+        return transactionTemplate.execute(estado -> {
+            try (Stream<AutorResumen> autores = autorRepository.streamResumenes()) {
+                return autores.count();
+            }
+        });
+    }
+}
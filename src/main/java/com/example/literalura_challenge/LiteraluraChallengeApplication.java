@@ -1,10 +1,22 @@
 package com.example.literalura_challenge;
 
 import com.example.literalura_challenge.principal.Principal;
+import com.example.literalura_challenge.service.CopiaBiblioteca;
+import com.example.literalura_challenge.service.EspejoCatalogo;
+import com.example.literalura_challenge.service.ImportadorCatalogo;
+import com.example.literalura_challenge.service.PrecargaGutendex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.Banner;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
 
 @SpringBootApplication
 public class LiteraluraChallengeApplication implements CommandLineRunner {
@@ -12,12 +24,112 @@ public class LiteraluraChallengeApplication implements CommandLineRunner {
 	@Autowired
 	private Principal principal;
 
+	@Autowired
+	private ImportadorCatalogo importadorCatalogo;
+
+	@Autowired
+	private EspejoCatalogo espejoCatalogo;
+
+	@Autowired
+	private PrecargaGutendex precargaGutendex;
+
+	@Autowired
+	private CopiaBiblioteca copiaBiblioteca;
+
+	@Autowired
+	private ConfigurableApplicationContext contexto;
+
+	@Value("${literalura.consola.habilitada:true}")
+	private boolean consolaHabilitada;
+
 	public static void main(String[] args) {
-		SpringApplication.run(LiteraluraChallengeApplication.class, args);
+		SpringApplication aplicacion = new SpringApplication(LiteraluraChallengeApplication.class);
+		if (esImportacion(args) || esSincronizacion(args) || esListado(args)
+				|| archivoDe("--exportar-biblioteca=", args).isPresent()) {
+			// La importacion, la sincronizacion, los listados y la copia no necesitan levantar la API HTTP
+			aplicacion.setWebApplicationType(WebApplicationType.NONE);
+		}
+		if (esListado(args)) {
+			// La salida del listado puede ir a un archivo: sin el banner de Spring
+			aplicacion.setBannerMode(Banner.Mode.OFF);
+		}
+		aplicacion.run(args);
 	}
 
 	@Override
 	public void run(String... args) throws Exception {
-		principal.muestraElMenu();
+		// Modo no interactivo: importa todo el catalogo de Gutendex y termina
+		if (esImportacion(args)) {
+			importadorCatalogo.importar();
+			return;
+		}
+		// Modo no interactivo: actualiza el espejo local del catalogo y termina
+		if (esSincronizacion(args)) {
+			sincronizarEspejo();
+			return;
+		}
+		// Modo no interactivo: escribe el listado completo y termina (ej: --listar-libros > libros.csv)
+		if (Arrays.asList(args).contains("--listar-libros")) {
+			principal.listarLibros();
+			return;
+		}
+		if (Arrays.asList(args).contains("--listar-autores")) {
+			principal.listarAutores();
+			return;
+		}
+		// Modo no interactivo: guarda una copia de la biblioteca y termina
+		Optional<Path> exportar = archivoDe("--exportar-biblioteca=", args);
+		if (exportar.isPresent()) {
+			long inicio = System.nanoTime();
+			var resumen = copiaBiblioteca.exportar(exportar.get());
+			System.out.printf("Copia guardada en %s (%s) en %.1f s%n", exportar.get(), resumen,
+					(System.nanoTime() - inicio) / 1_000_000_000.0);
+			return;
+		}
+		// Carga una copia en la base vacia y sigue con el menu
+		Optional<Path> restaurar = archivoDe("--restaurar-biblioteca=", args);
+		if (restaurar.isPresent()) {
+			long inicio = System.nanoTime();
+			var resumen = copiaBiblioteca.restaurar(restaurar.get());
+			System.out.printf("Copia restaurada desde %s (%s) en %.1f s%n", restaurar.get(), resumen,
+					(System.nanoTime() - inicio) / 1_000_000_000.0);
+		}
+		// Precarga opcional de libros populares; corre en segundo plano y no demora el menu
+		precargaGutendex.iniciar();
+		if (consolaHabilitada) {
+			principal.muestraElMenu();
+			// Al salir del menu se detiene tambien la API HTTP
+			SpringApplication.exit(contexto);
+		}
+	}
+
+	private void sincronizarEspejo() {
+		if (!espejoCatalogo.estaDisponible()) {
+			System.out.println("\nCreando el espejo del catalogo (puede tardar varios minutos)...");
+		}
+		long inicio = System.nanoTime();
+		int nuevos = espejoCatalogo.sincronizar();
+		System.out.printf("Espejo actualizado: %d libro(s) nuevo(s), %d en total, en %.1f s%n",
+				nuevos, espejoCatalogo.getCantidad(), (System.nanoTime() - inicio) / 1_000_000_000.0);
+	}
+
+	private static boolean esImportacion(String... args) {
+		return Arrays.asList(args).contains("--importar-catalogo");
+	}
+
+	private static boolean esSincronizacion(String... args) {
+		return Arrays.asList(args).contains("--sincronizar-espejo");
+	}
+
+	// Archivo indicado como --opcion=archivo
+	private static Optional<Path> archivoDe(String prefijo, String... args) {
+		return Arrays.stream(args)
+				.filter(argumento -> argumento.startsWith(prefijo) && argumento.length() > prefijo.length())
+				.map(argumento -> Path.of(argumento.substring(prefijo.length())))
+				.findFirst();
+	}
+
+	private static boolean esListado(String... args) {
+		return Arrays.asList(args).contains("--listar-libros") || Arrays.asList(args).contains("--listar-autores");
 	}
 }
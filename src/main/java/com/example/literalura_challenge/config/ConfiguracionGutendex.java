@@ -0,0 +1,56 @@
+package com.example.literalura_challenge.config;
+
+import com.example.literalura_challenge.service.CacheRespuestas;
+import com.example.literalura_challenge.service.ConsumoAPI;
+import com.example.literalura_challenge.service.ConsumoAPICacheado;
+import com.example.literalura_challenge.service.EspejoCatalogo;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+public class ConfiguracionGutendex {
+
+    @Bean
+    public CacheRespuestas cacheRespuestas(
+            @Value("${literalura.cache.max-entradas:500}") int maxEntradas,
+            @Value("${literalura.cache.ttl-minutos:60}") long ttlMinutos,
+            @Value("${literalura.cache.directorio:}") String directorio,
+            MeterRegistry registro) {
+        var cache = new CacheRespuestas(maxEntradas, Duration.ofMinutes(ttlMinutos),
+                directorio.isBlank() ? null : Path.of(directorio));
+
+        // Mismos nombres que usa Micrometer para otras caches, para calcular la tasa de aciertos
+        FunctionCounter.builder("cache.gets", cache, CacheRespuestas::getAciertos)
+                .tags("cache", "gutendex", "result", "hit")
+                .register(registro);
+        FunctionCounter.builder("cache.gets", cache, CacheRespuestas::getFallos)
+                .tags("cache", "gutendex", "result", "miss")
+                .register(registro);
+        FunctionCounter.builder("cache.evictions", cache, CacheRespuestas::getDesalojos)
+                .tag("cache", "gutendex")
+                .register(registro);
+        Gauge.builder("cache.size", cache, CacheRespuestas::getTamano)
+                .tag("cache", "gutendex")
+                .register(registro);
+        return cache;
+    }
+
+    @Bean
+    public ConsumoAPI consumoAPI(CacheRespuestas cacheRespuestas) {
+        return new ConsumoAPICacheado(cacheRespuestas);
+    }
+
+    @Bean
+    public EspejoCatalogo espejoCatalogo(@Value("${literalura.espejo.archivo:}") String archivo,
+                                         @Value("${literalura.gutendex.url:https://gutendex.com/books/}") String urlBase,
+                                         ConsumoAPI consumoAPI) {
+        return new EspejoCatalogo(archivo.isBlank() ? null : Path.of(archivo), urlBase, consumoAPI);
+    }
+}
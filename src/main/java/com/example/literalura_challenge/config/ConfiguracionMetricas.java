@@ -0,0 +1,34 @@
+package com.example.literalura_challenge.config;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.logging.LoggingMeterRegistry;
+import io.micrometer.core.instrument.logging.LoggingRegistryConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class ConfiguracionMetricas {
+
+    // Escribe todas las metricas en el log cada cierto intervalo, sin necesitar Prometheus
+    @Bean
+    @ConditionalOnProperty(name = "literalura.metricas.log.habilitado", havingValue = "true")
+    public LoggingMeterRegistry loggingMeterRegistry(
+            @Value("${literalura.metricas.log.intervalo:PT1M}") Duration intervalo) {
+        LoggingRegistryConfig configuracion = new LoggingRegistryConfig() {
+            @Override
+            public String get(String clave) {
+                return null;
+            }
+
+            @Override
+            public Duration step() {
+                return intervalo;
+            }
+        };
+        return new LoggingMeterRegistry(configuracion, Clock.SYSTEM);
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.literalura_challenge.controller;
+
+import com.example.literalura_challenge.model.AutorResumen;
+import com.example.literalura_challenge.model.EstadisticaIdioma;
+import com.example.literalura_challenge.model.Libro;
+import com.example.literalura_challenge.model.LibroResumen;
+import com.example.literalura_challenge.repository.AutorRepository;
+import com.example.literalura_challenge.repository.LibroRepository;
+import com.example.literalura_challenge.service.BusquedaLote;
+import com.example.literalura_challenge.service.ConsultasCatalogo;
+import com.example.literalura_challenge.service.ErrorGutendex;
+import com.example.literalura_challenge.service.LibroService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.ConnectException;
+import java.net.http.HttpTimeoutException;
+import java.util.List;
+
+/**
+ * Las mismas consultas del menu de consola, expuestas como API HTTP.
+ * Los errores de Gutendex se devuelven como 502, 503 (con Retry-After si lo
+ * indico) o 504, segun corresponda.
+ */
+@RestController
+@RequestMapping("/api")
+public class CatalogoController {
+    private static final int MAX_TAMANO_PAGINA = 500;
+
+    @Autowired
+    private LibroService libroService;
+
+    @Autowired
+    private BusquedaLote busquedaLote;
+
+    @Autowired
+    private LibroRepository libroRepository;
+
+    @Autowired
+    private AutorRepository autorRepository;
+
+    @Autowired
+    private ConsultasCatalogo consultasCatalogo;
+
+    // Opcion 1: busca el titulo en Gutendex y lo agrega a la biblioteca
+    @PostMapping("/libros")
+    public ResponseEntity<LibroResumen> agregarLibro(@RequestParam String titulo) {
+        if (titulo.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Escriba el titulo de un libro");
+        }
+        var datos = libroService.buscarEnGutendex(titulo)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No se encontro el libro"));
+        var resultado = libroService.guardar(datos);
+        return ResponseEntity.status(resultado.nuevo() ? HttpStatus.CREATED : HttpStatus.OK)
+                .body(LibroResumen.de(resultado.libro()));
+    }
+
+    // Opcion 8: busca varios titulos y agrega los encontrados
+    @PostMapping("/libros/lote")
+    public BusquedaLote.ResultadoLote agregarLibros(@RequestBody List<String> titulos) {
+        if (titulos.isEmpty() || titulos.size() > MAX_TAMANO_PAGINA) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Envie entre 1 y " + MAX_TAMANO_PAGINA + " titulos");
+        }
+        return busquedaLote.buscarYGuardar(titulos);
+    }
+
+    // Opcion 2, por paginas
+    @GetMapping("/libros")
+    public List<LibroResumen> listarLibros(@RequestParam(defaultValue = "0") int pagina,
+                                           @RequestParam(defaultValue = "20") int tamano) {
+        return libroRepository.findResumenes(paginar(pagina, tamano)).getContent();
+    }
+
+    // Busqueda por fragmento de titulo dentro de la biblioteca
+    @GetMapping("/libros/buscar")
+    public List<LibroResumen> buscarLibros(@RequestParam String titulo,
+                                           @RequestParam(defaultValue = "20") int limite) {
+        if (limite < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limite invalido");
+        }
+        return resumir(libroRepository.buscarLibrosPorTituloIndexado(titulo, Math.min(limite, MAX_TAMANO_PAGINA)));
+    }
+
+    // Opcion 3, por paginas
+    @GetMapping("/autores")
+    public List<AutorResumen> listarAutores(@RequestParam(defaultValue = "0") int pagina,
+                                            @RequestParam(defaultValue = "20") int tamano) {
+        return autorRepository.findResumenes(paginar(pagina, tamano)).getContent();
+    }
+
+    // Opcion 4
+    @GetMapping("/autores/vivos")
+    public List<AutorResumen> autoresVivosEnAno(@RequestParam int ano) {
+        return consultasCatalogo.autoresVivosEnAno(ano);
+    }
+
+    // Opcion 5
+    @GetMapping("/libros/idioma/{idioma}")
+    public List<LibroResumen> librosPorIdioma(@PathVariable String idioma) {
+        return consultasCatalogo.librosPorIdioma(idioma.toLowerCase().trim());
+    }
+
+    // Opcion 6
+    @GetMapping("/estadisticas/idiomas")
+    public List<EstadisticaIdioma> estadisticasPorIdioma() {
+        return consultasCatalogo.estadisticasPorCantidad();
+    }
+
+    // Opcion 7. Para la pagina siguiente se envian las descargas y el id del ultimo libro recibido
+    @GetMapping("/libros/top")
+    public List<LibroResumen> masDescargados(@RequestParam(defaultValue = "10") int n,
+                                             @RequestParam(required = false) Double despuesDeDescargas,
+                                             @RequestParam(required = false) Long despuesDeId) {
+        int cantidad = paginar(0, n).getPageSize();
+        if (despuesDeDescargas != null && despuesDeId != null) {
+            return consultasCatalogo.masDescargadosDespuesDe(despuesDeDescargas, despuesDeId, cantidad);
+        }
+        return consultasCatalogo.masDescargados(cantidad);
+    }
+
+    // Gutendex limita las consultas (429) o no esta disponible (503): se puede reintentar despues
+    @ExceptionHandler(ErrorGutendex.class)
+    public ResponseEntity<ProblemDetail> errorGutendex(ErrorGutendex e) {
+        HttpStatus estado = e.getEstado() == 429 || e.getEstado() == 503
+                ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.BAD_GATEWAY;
+        var respuesta = ResponseEntity.status(estado);
+        if (e.getReintentarEnSegundos() >= 0) {
+            respuesta.header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getReintentarEnSegundos()));
+        }
+        return respuesta.body(ProblemDetail.forStatusAndDetail(estado,
+                "El servidor de libros respondio con el codigo " + e.getEstado()));
+    }
+
+    // ConsumoAPI envuelve las fallas de red en una RuntimeException; se reconocen por la causa
+    @ExceptionHandler(HttpTimeoutException.class)
+    public ResponseEntity<ProblemDetail> gutendexSinRespuesta(HttpTimeoutException e) {
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(ProblemDetail.forStatusAndDetail(
+                HttpStatus.GATEWAY_TIMEOUT, "El servidor de libros no respondio a tiempo"));
+    }
+
+    @ExceptionHandler(ConnectException.class)
+    public ResponseEntity<ProblemDetail> gutendexSinConexion(ConnectException e) {
+        return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(ProblemDetail.forStatusAndDetail(
+                HttpStatus.BAD_GATEWAY, "No se pudo conectar al servidor de libros"));
+    }
+
+    private PageRequest paginar(int pagina, int tamano) {
+        if (pagina < 0 || tamano < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Pagina o tamano invalido");
+        }
+        return PageRequest.of(pagina, Math.min(tamano, MAX_TAMANO_PAGINA));
+    }
+
+    private List<LibroResumen> resumir(List<Libro> libros) {
+        return libros.stream().map(LibroResumen::de).toList();
+    }
+}
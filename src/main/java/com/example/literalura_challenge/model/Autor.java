@@ -4,17 +4,38 @@ import jakarta.persistence.*;
 import java.util.List;
 
 @Entity
-@Table(name = "autores")
+@Table(name = "autores",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_autores_nombre_fechas",
+                columnNames = {"nombre", "fechaDeNacimiento", "fechaDeFallecimiento"}),
+        indexes = @Index(
+                name = "idx_autores_anos",
+                columnList = "fechaDeNacimiento, fechaDeFallecimiento"))
 public class Autor {
+    // Cada valor de autores_seq reserva este bloque de ids (el valor y los 49 anteriores)
+    public static final int IDS_POR_RESERVA = 50;
+
+    // Ficha del autor en la consola: nombre y anos de nacimiento y fallecimiento.
+    // La usan toString y los listados en texto de SalidaListados
+    public static final String PLANTILLA_TEXTO = """
+            ----------- AUTOR -----------
+            Nombre: %s
+            Fecha de nacimiento: %s
+            Fecha de fallecimiento: %s
+            ----------------------------
+            """;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "autores_seq")
+    @SequenceGenerator(name = "autores_seq", sequenceName = "autores_seq", allocationSize = IDS_POR_RESERVA)
     private Long id;
 
     private String nombre;
-    private String fechaDeNacimiento;
-    private String fechaDeFallecimiento;
+    // Anos (no fechas completas), como enteros para poder compararlos con un indice
+    private Integer fechaDeNacimiento;
+    private Integer fechaDeFallecimiento;
 
-    @OneToMany(mappedBy = "autor", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @ManyToMany(mappedBy = "autores", fetch = FetchType.LAZY)
     private List<Libro> libros;
 
     public Autor() {}
@@ -42,19 +63,19 @@ public class Autor {
         this.nombre = nombre;
     }
 
-    public String getFechaDeNacimiento() {
+    public Integer getFechaDeNacimiento() {
         return fechaDeNacimiento;
     }
 
-    public void setFechaDeNacimiento(String fechaDeNacimiento) {
+    public void setFechaDeNacimiento(Integer fechaDeNacimiento) {
         this.fechaDeNacimiento = fechaDeNacimiento;
     }
 
-    public String getFechaDeFallecimiento() {
+    public Integer getFechaDeFallecimiento() {
         return fechaDeFallecimiento;
     }
 
-    public void setFechaDeFallecimiento(String fechaDeFallecimiento) {
+    public void setFechaDeFallecimiento(Integer fechaDeFallecimiento) {
         this.fechaDeFallecimiento = fechaDeFallecimiento;
     }
 
@@ -68,13 +89,7 @@ public class Autor {
 
     @Override
     public String toString() {
-        return String.format("""
-            ----------- AUTOR -----------
-            Nombre: %s
-            Fecha de nacimiento: %s
-            Fecha de fallecimiento: %s
-            ----------------------------
-            """, nombre,
+        return String.format(PLANTILLA_TEXTO, nombre,
             fechaDeNacimiento != null ? fechaDeNacimiento : "Desconocida",
             fechaDeFallecimiento != null ? fechaDeFallecimiento : "Vivo");
     }
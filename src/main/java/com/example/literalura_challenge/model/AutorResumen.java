@@ -0,0 +1,16 @@
+package com.example.literalura_challenge.model;
+
+/**
+ * Datos de un autor para listados, leidos sin cargar la entidad.
+ */
+public record AutorResumen(
+        Long id,
+        String nombre,
+        Integer fechaDeNacimiento,
+        Integer fechaDeFallecimiento
+) {
+    public static AutorResumen de(Autor autor) {
+        return new AutorResumen(autor.getId(), autor.getNombre(),
+                autor.getFechaDeNacimiento(), autor.getFechaDeFallecimiento());
+    }
+}
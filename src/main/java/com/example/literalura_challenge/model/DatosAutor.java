@@ -6,7 +6,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 @JsonIgnoreProperties(ignoreUnknown = true)
 public record DatosAutor(
         @JsonAlias("name") String nombre,
-        @JsonAlias("birth_year") String fechaDeNacimiento,
-        @JsonAlias("death_year") String fechaDeFallecimiento
+        @JsonAlias("birth_year") Integer fechaDeNacimiento,
+        @JsonAlias("death_year") Integer fechaDeFallecimiento
 ) {
 }
@@ -0,0 +1,7 @@
+package com.example.literalura_challenge.model;
+
+public record EstadisticaIdioma(
+        String idioma,
+        long cantidad
+) {
+}
@@ -0,0 +1,55 @@
+package com.example.literalura_challenge.model;
+
+import jakarta.persistence.*;
+import java.util.List;
+
+// Tabla chica con un registro por codigo de idioma; los libros la referencian por id
+@Entity
+@Table(name = "idiomas")
+public class Idioma {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(unique = true, nullable = false, length = 20)
+    private String codigo;
+
+    @ManyToMany(mappedBy = "idiomas", fetch = FetchType.LAZY)
+    private List<Libro> libros;
+
+    public Idioma() {}
+
+    public Idioma(String codigo) {
+        this.codigo = codigo;
+    }
+
+    // Getters y Setters
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getCodigo() {
+        return codigo;
+    }
+
+    public void setCodigo(String codigo) {
+        this.codigo = codigo;
+    }
+
+    public List<Libro> getLibros() {
+        return libros;
+    }
+
+    public void setLibros(List<Libro> libros) {
+        this.libros = libros;
+    }
+
+    @Override
+    public String toString() {
+        return codigo;
+    }
+}
@@ -1,34 +1,70 @@
 package com.example.literalura_challenge.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Entity
-@Table(name = "libros")
+@Table(name = "libros", indexes = @Index(
+        name = "idx_libros_descargas",
+        columnList = "numeroDeDescargas DESC, id DESC"))
 public class Libro {
+    // Cada valor de libros_seq reserva este bloque de ids (el valor y los 49 anteriores)
+    public static final int IDS_POR_RESERVA = 50;
+
+    // Ficha del libro en la consola: titulo, autores, idiomas y descargas.
+    // La usan toString y los listados en texto de SalidaListados
+    public static final String PLANTILLA_TEXTO = """
+            ----------- LIBRO -----------
+            Título: %s
+            Autor: %s
+            Idioma: %s
+            Número de descargas: %s
+            ----------------------------
+            """;
+
+    // Con ids de secuencia Hibernate no necesita el INSERT para conocer el id y puede enviar los libros en lotes
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "libros_seq")
+    @SequenceGenerator(name = "libros_seq", sequenceName = "libros_seq", allocationSize = IDS_POR_RESERVA)
     private Long id;
 
-    @Column(unique = true)
+    @Column(unique = true, length = 1000)
     private String titulo;
 
-    @ManyToOne(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
-    private Autor autor;
+    // Todos los autores e idiomas, en el orden de Gutendex. Sin cascada: se resuelven
+    // antes con ResolutorAutores y ResolutorIdiomas para no duplicarlos
+    @ManyToMany(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SUBSELECT)
+    @JoinTable(name = "libro_autores",
+            joinColumns = @JoinColumn(name = "libro_id"),
+            inverseJoinColumns = @JoinColumn(name = "autor_id"),
+            indexes = @Index(name = "idx_libro_autores_autor", columnList = "autor_id, libro_id"))
+    @OrderColumn(name = "orden")
+    private List<Autor> autores = new ArrayList<>();
+
+    // El indice (idioma_id, libro_id) resuelve filtros y conteos por idioma sin leer la tabla libros
+    @ManyToMany(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SUBSELECT)
+    @JoinTable(name = "libro_idiomas",
+            joinColumns = @JoinColumn(name = "libro_id"),
+            inverseJoinColumns = @JoinColumn(name = "idioma_id"),
+            indexes = @Index(name = "idx_libro_idiomas_idioma", columnList = "idioma_id, libro_id"))
+    @OrderColumn(name = "orden")
+    private List<Idioma> idiomas = new ArrayList<>();
 
-    private String idioma;
     private Double numeroDeDescargas;
 
     public Libro() {}
 
-    public Libro(DatosLibro datosLibro) {
+    public Libro(DatosLibro datosLibro, List<Autor> autores, List<Idioma> idiomas) {
         this.titulo = datosLibro.titulo();
-        if (datosLibro.autor() != null && !datosLibro.autor().isEmpty()) {
-            this.autor = new Autor(datosLibro.autor().get(0));
-        }
-        this.idioma = datosLibro.idiomas() != null && !datosLibro.idiomas().isEmpty()
-            ? datosLibro.idiomas().get(0) : "desconocido";
+        this.autores = new ArrayList<>(autores);
+        this.idiomas = new ArrayList<>(idiomas);
         this.numeroDeDescargas = datosLibro.numeroDeDescargas();
     }
 
@@ -49,20 +85,31 @@ public class Libro {
         this.titulo = titulo;
     }
 
-    public Autor getAutor() {
-        return autor;
+    public List<Autor> getAutores() {
+        return autores;
     }
 
-    public void setAutor(Autor autor) {
-        this.autor = autor;
+    public void setAutores(List<Autor> autores) {
+        this.autores = autores;
     }
 
-    public String getIdioma() {
-        return idioma;
+    public List<Idioma> getIdiomas() {
+        return idiomas;
     }
 
-    public void setIdioma(String idioma) {
-        this.idioma = idioma;
+    public void setIdiomas(List<Idioma> idiomas) {
+        this.idiomas = idiomas;
+    }
+
+    // "Austen, Jane; Otro, Autor" o null si no tiene autores
+    public String getNombresAutores() {
+        return autores.isEmpty() ? null
+            : autores.stream().map(Autor::getNombre).collect(Collectors.joining("; "));
+    }
+
+    // "en, fr"
+    public String getCodigosIdiomas() {
+        return idiomas.stream().map(Idioma::getCodigo).collect(Collectors.joining(", "));
     }
 
     public Double getNumeroDeDescargas() {
@@ -75,14 +122,7 @@ public class Libro {
 
     @Override
     public String toString() {
-        return String.format("""
-            ----------- LIBRO -----------
-            Título: %s
-            Autor: %s
-            Idioma: %s
-            Número de descargas: %.0f
-            ----------------------------
-            """, titulo, autor != null ? autor.getNombre() : "Desconocido",
-            idioma, numeroDeDescargas);
+        return String.format(PLANTILLA_TEXTO, titulo, autores.isEmpty() ? "Desconocido" : getNombresAutores(),
+            getCodigosIdiomas(), numeroDeDescargas != null ? String.format("%.0f", numeroDeDescargas) : "Desconocido");
     }
 }
@@ -0,0 +1,23 @@
+package com.example.literalura_challenge.model;
+
+/**
+ * Datos de un libro para listados, leidos sin cargar la entidad ni sus autores.
+ * Los autores van separados por "; " y los codigos de idioma por ", ".
+ */
+public record LibroResumen(
+        Long id,
+        String titulo,
+        String autores,
+        String idiomas,
+        Double numeroDeDescargas
+) {
+    public static LibroResumen de(Libro libro) {
+        return new LibroResumen(libro.getId(), libro.getTitulo(), libro.getNombresAutores(),
+                libro.getCodigosIdiomas(), libro.getNumeroDeDescargas());
+    }
+
+    // Codigos de idioma por separado: "en, fr" -> ["en", "fr"]
+    public String[] codigosIdiomas() {
+        return idiomas == null || idiomas.isEmpty() ? new String[0] : idiomas.split(", ");
+    }
+}
@@ -3,21 +3,40 @@ package com.example.literalura_challenge.principal;
 import com.example.literalura_challenge.model.*;
 import com.example.literalura_challenge.repository.AutorRepository;
 import com.example.literalura_challenge.repository.LibroRepository;
-import com.example.literalura_challenge.service.ConsumoAPI;
-import com.example.literalura_challenge.service.ConvierteDatos;
+import com.example.literalura_challenge.service.BusquedaLote;
+import com.example.literalura_challenge.service.ConsultasCatalogo;
+import com.example.literalura_challenge.service.LibroService;
+import com.example.literalura_challenge.service.ListadoCatalogo;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.Scanner;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Component
 public class Principal {
+    private static final Logger log = LoggerFactory.getLogger(Principal.class);
+
     private Scanner teclado = new Scanner(System.in);
-    private ConsumoAPI consumoApi = new ConsumoAPI();
-    private ConvierteDatos conversor = new ConvierteDatos();
-    private final String URL_BASE = "https://gutendex.com/books/";
+
+    @Value("${literalura.top.tamano:10}")
+    private int tamanoTop;
+
+    // Formato de los listados largos: texto, tabla, csv o jsonl
+    @Value("${literalura.consola.formato:texto}")
+    private String formatoListados;
+
+    @Autowired
+    private LibroService libroService;
 
     @Autowired
     private LibroRepository libroRepository;
@@ -25,6 +44,15 @@ public class Principal {
     @Autowired
     private AutorRepository autorRepository;
 
+    @Autowired
+    private ConsultasCatalogo consultasCatalogo;
+
+    @Autowired
+    private ListadoCatalogo listadoCatalogo;
+
+    @Autowired
+    private BusquedaLote busquedaLote;
+
     // Metodo para pausar y esperar input del usuario
     private void esperarEnter() {
         System.out.println("\nPresione Enter para continuar...");
@@ -48,11 +76,12 @@ public class Principal {
                     4- Listar autores vivos en un determinado ano
                     5- Listar libros por idioma
                     6- Mostrar estadisticas de libros por idioma
-                    7- Top 10 libros mas descargados
+                    7- Top %d libros mas descargados
+                    8- Buscar varios libros (lista o archivo)
                     
                     0- Salir
                     =======================================
-                    """;
+                    """.formatted(tamanoTop);
             System.out.println(menu);
             System.out.print("Seleccione una opcion: ");
 
@@ -82,15 +111,18 @@ public class Principal {
                     case 7:
                         mostrarTop10LibrosMasDescargados();
                         break;
+                    case 8:
+                        buscarVariosLibros();
+                        break;
                     case 0:
                         System.out.println("\nGracias por usar Literalura! Hasta pronto!");
                         break;
                     default:
-                        System.out.println("\nX Opcion invalida. Por favor, seleccione un numero del 0 al 7.");
+                        System.out.println("\nX Opcion invalida. Por favor, seleccione un numero del 0 al 8.");
                         esperarEnter();
                 }
             } catch (Exception e) {
-                System.out.println("\nX Error: Ingrese un numero valido (0-7)");
+                System.out.println("\nX Error: Ingrese un numero valido (0-8)");
                 teclado.nextLine(); // Limpiar el buffer
                 esperarEnter();
             }
@@ -117,12 +149,7 @@ public class Principal {
         
         try {
             System.out.println("\nBuscando '" + nombreLibro + "'...");
-            var json = consumoApi.obtenerDatos(URL_BASE + "?search=" + nombreLibro.replace(" ", "%20"));
-            var datosBusqueda = conversor.obtenerDatos(json, DatosRespuesta.class);
-            
-            Optional<DatosLibro> libroBuscado = datosBusqueda.resultados().stream()
-                    .filter(l -> l.titulo().toUpperCase().contains(nombreLibro.toUpperCase()))
-                    .findFirst();
+            Optional<DatosLibro> libroBuscado = libroService.buscarEnGutendex(nombreLibro);
                     
             if (libroBuscado.isPresent()) {
                 System.out.println("Libro encontrado!");
@@ -132,6 +159,7 @@ public class Principal {
                 return null;
             }
         } catch (Exception e) {
+            registrarError("buscar_libro", e);
             System.out.println("No se pudo buscar el libro en este momento.");
             System.out.println("Verifique su conexion a internet e intente nuevamente.");
             return null;
@@ -142,19 +170,17 @@ public class Principal {
         DatosLibro datos = getDatosLibro();
         if (datos != null) {
             try {
-                // Verificar si el libro ya existe en la base de datos
-                Optional<Libro> libroExistente = libroRepository.findByTituloContainsIgnoreCase(datos.titulo());
-                if (libroExistente.isPresent()) {
+                // Solo se guarda si el libro no existe en la base de datos
+                var resultado = libroService.guardar(datos);
+                if (!resultado.nuevo()) {
                     System.out.println("\nEste libro ya esta en su biblioteca:");
-                    System.out.println(libroExistente.get());
+                    System.out.println(resultado.libro());
                 } else {
-                    System.out.println("\nGuardando libro en su biblioteca...");
-                    Libro libro = new Libro(datos);
-                    libroRepository.save(libro);
-                    System.out.println("Libro agregado exitosamente a su biblioteca!");
-                    System.out.println(libro);
+                    System.out.println("\nLibro agregado exitosamente a su biblioteca!");
+                    System.out.println(resultado.libro());
                 }
             } catch (Exception e) {
+                registrarError("guardar_libro", e);
                 System.out.println("\nNo se pudo guardar el libro en su biblioteca.");
                 System.out.println("Intente nuevamente mas tarde.");
             }
@@ -162,22 +188,71 @@ public class Principal {
         esperarEnter();
     }
 
+    private void buscarVariosLibros() {
+        System.out.println("\nBUSCAR VARIOS LIBROS");
+        System.out.println("====================");
+        System.out.println("Escriba la ruta de un archivo con un titulo por linea,");
+        System.out.print("o varios titulos separados por ';': ");
+        var entrada = teclado.nextLine().trim();
+
+        List<String> titulos;
+        try {
+            Path archivo = Path.of(entrada);
+            titulos = !entrada.isEmpty() && Files.isRegularFile(archivo)
+                    ? Files.readAllLines(archivo)
+                    : Arrays.asList(entrada.split(";"));
+        } catch (Exception e) {
+            registrarError("leer_lista", e);
+            System.out.println("\nNo se pudo leer el archivo. Verifique la ruta e intente nuevamente.");
+            esperarEnter();
+            return;
+        }
+        if (titulos.stream().allMatch(String::isBlank)) {
+            System.out.println("\nPor favor escriba al menos un titulo.");
+            esperarEnter();
+            return;
+        }
+
+        System.out.println("\nBuscando " + titulos.size() + " titulo(s)...");
+        var terminados = new AtomicInteger();
+        try {
+            var lote = busquedaLote.buscarYGuardar(titulos,
+                    titulo -> System.out.printf("  [%d] %s%n", terminados.incrementAndGet(), titulo));
+
+            System.out.println();
+            for (var resultado : lote.resultados()) {
+                switch (resultado.estado()) {
+                    case AGREGADO -> System.out.println("+ Agregado: " + resultado.encontrado());
+                    case YA_EXISTIA -> System.out.println("= Ya estaba en su biblioteca: " + resultado.encontrado());
+                    case NO_ENCONTRADO -> System.out.println("? No se encontro: " + resultado.buscado());
+                    case ERROR -> System.out.println("X No se pudo buscar: " + resultado.buscado());
+                }
+            }
+            System.out.println();
+            System.out.printf("Agregados: %d | Ya existentes: %d | No encontrados: %d | Con error: %d%n",
+                    lote.cantidad(BusquedaLote.Estado.AGREGADO), lote.cantidad(BusquedaLote.Estado.YA_EXISTIA),
+                    lote.cantidad(BusquedaLote.Estado.NO_ENCONTRADO), lote.cantidad(BusquedaLote.Estado.ERROR));
+        } catch (Exception e) {
+            registrarError("buscar_varios", e);
+            System.out.println("\nNo se pudieron guardar los libros encontrados.");
+            System.out.println("Intente nuevamente mas tarde.");
+        }
+        esperarEnter();
+    }
+
     private void mostrarLibrosRegistrados() {
         System.out.println("\nMI BIBLIOTECA DE LIBROS");
         System.out.println("=======================");
 
-        List<Libro> libros = libroRepository.findAll();
-        if (libros.isEmpty()) {
+        long totalLibros = libroRepository.count();
+        if (totalLibros == 0) {
             System.out.println("Su biblioteca esta vacia.");
             System.out.println("Use la opcion 1 para agregar libros.");
         } else {
-            System.out.println("Tiene " + libros.size() + " libro(s) en su biblioteca:");
+            System.out.println("Tiene " + totalLibros + " libro(s) en su biblioteca:");
             System.out.println();
-            
-            for (int i = 0; i < libros.size(); i++) {
-                System.out.println("LIBRO " + (i + 1) + ":");
-                System.out.println(libros.get(i));
-            }
+
+            listarLibros();
         }
         esperarEnter();
     }
@@ -186,18 +261,15 @@ public class Principal {
         System.out.println("\nAUTORES EN MI BIBLIOTECA");
         System.out.println("========================");
 
-        List<Autor> autores = autorRepository.findAll();
-        if (autores.isEmpty()) {
+        long totalAutores = autorRepository.count();
+        if (totalAutores == 0) {
             System.out.println("No hay autores en su biblioteca aun.");
             System.out.println("Los autores aparecen cuando agrega libros.");
         } else {
-            System.out.println("Tiene " + autores.size() + " autor(es) en su biblioteca:");
+            System.out.println("Tiene " + totalAutores + " autor(es) en su biblioteca:");
             System.out.println();
-            
-            for (int i = 0; i < autores.size(); i++) {
-                System.out.println("AUTOR " + (i + 1) + ":");
-                System.out.println(autores.get(i));
-            }
+
+            listarAutores();
         }
         esperarEnter();
     }
@@ -218,7 +290,7 @@ public class Principal {
             }
             
             System.out.println("\nBuscando autores que estaban vivos en " + ano + "...");
-            List<Autor> autoresVivos = autorRepository.findAutoresVivosEnAno(ano);
+            List<AutorResumen> autoresVivos = consultasCatalogo.autoresVivosEnAno(ano);
             
             if (autoresVivos.isEmpty()) {
                 System.out.println("No se encontraron autores vivos en " + ano + ".");
@@ -227,16 +299,18 @@ public class Principal {
                 System.out.println("Autores que estaban vivos en " + ano + ":");
                 System.out.println();
                 
+                var salida = SalidaListados.consola(formato());
                 for (int i = 0; i < autoresVivos.size(); i++) {
-                    System.out.println("AUTOR " + (i + 1) + ":");
-                    System.out.println(autoresVivos.get(i));
+                    salida.autor(autoresVivos.get(i), i + 1);
                 }
+                salida.terminar();
                 
                 System.out.println("Total: " + autoresVivos.size() + " autor(es)");
             }
         } catch (NumberFormatException e) {
             System.out.println("\nPor favor escriba solo numeros.");
         } catch (Exception e) {
+            registrarError("autores_vivos", e);
             System.out.println("\nOcurrio un problema. Intente nuevamente.");
         }
         esperarEnter();
@@ -246,7 +320,7 @@ public class Principal {
         System.out.println("\nLIBROS POR IDIOMA");
         System.out.println("=================");
 
-        List<String> idiomasDisponibles = libroRepository.findDistinctIdiomas();
+        List<EstadisticaIdioma> idiomasDisponibles = consultasCatalogo.estadisticasPorIdioma();
         
         if (idiomasDisponibles.isEmpty()) {
             System.out.println("No hay libros en su biblioteca aun.");
@@ -257,10 +331,9 @@ public class Principal {
         
         System.out.println("Idiomas disponibles en su biblioteca:");
         System.out.println();
-        idiomasDisponibles.forEach(idioma -> {
-            Long cantidad = libroRepository.countByIdioma(idioma);
-            String nombreIdioma = obtenerNombreIdioma(idioma);
-            System.out.printf("- %s (%s): %d libro(s)%n", nombreIdioma, idioma, cantidad);
+        idiomasDisponibles.forEach(stat -> {
+            String nombreIdioma = obtenerNombreIdioma(stat.idioma());
+            System.out.printf("- %s (%s): %d libro(s)%n", nombreIdioma, stat.idioma(), stat.cantidad());
         });
         
         System.out.println();
@@ -273,17 +346,18 @@ public class Principal {
             return;
         }
         
-        List<Libro> librosPorIdioma = libroRepository.findByIdioma(idioma);
+        List<LibroResumen> librosPorIdioma = consultasCatalogo.librosPorIdioma(idioma);
         if (librosPorIdioma.isEmpty()) {
             System.out.println("\nNo tiene libros en " + obtenerNombreIdioma(idioma) + ".");
         } else {
             System.out.println("\nLibros en " + obtenerNombreIdioma(idioma) + ":");
             System.out.println("=====================================");
             
+            var salida = SalidaListados.consola(formato());
             for (int i = 0; i < librosPorIdioma.size(); i++) {
-                System.out.println("LIBRO " + (i + 1) + ":");
-                System.out.println(librosPorIdioma.get(i));
+                salida.libro(librosPorIdioma.get(i), i + 1);
             }
+            salida.terminar();
             
             System.out.println("Total: " + librosPorIdioma.size() + " libro(s)");
         }
@@ -294,7 +368,7 @@ public class Principal {
         System.out.println("\nESTADISTICAS DE MI BIBLIOTECA");
         System.out.println("=============================");
 
-        List<Object[]> estadisticas = libroRepository.obtenerEstadisticasPorIdioma();
+        List<EstadisticaIdioma> estadisticas = consultasCatalogo.estadisticasPorCantidad();
         
         if (estadisticas.isEmpty()) {
             System.out.println("Su biblioteca esta vacia.");
@@ -307,16 +381,12 @@ public class Principal {
         System.out.println();
 
         estadisticas.forEach(stat -> {
-            String idioma = (String) stat[0];
-            Long cantidad = (Long) stat[1];
-            String nombreIdioma = obtenerNombreIdioma(idioma);
-            System.out.printf("- %s: %d libro(s)%n", nombreIdioma, cantidad);
+            String nombreIdioma = obtenerNombreIdioma(stat.idioma());
+            System.out.printf("- %s: %d libro(s)%n", nombreIdioma, stat.cantidad());
         });
         
-        // Mostrar total general
-        Long totalLibros = estadisticas.stream()
-            .mapToLong(stat -> (Long) stat[1])
-            .sum();
+        // Total de libros distintos: sumar las estadisticas contaria dos veces a los libros con dos idiomas
+        long totalLibros = consultasCatalogo.totalLibros();
         
         System.out.println();
         System.out.println("Total de libros: " + totalLibros);
@@ -328,7 +398,7 @@ public class Principal {
         System.out.println("\nLIBROS MAS POPULARES");
         System.out.println("====================");
 
-        List<Libro> topLibros = libroRepository.findTop10ByOrderByNumeroDeDescargasDesc();
+        List<LibroResumen> topLibros = consultasCatalogo.masDescargados(tamanoTop);
         
         if (topLibros.isEmpty()) {
             System.out.println("Su biblioteca esta vacia.");
@@ -339,23 +409,73 @@ public class Principal {
         
         System.out.println("Los libros mas descargados en su biblioteca:");
         System.out.println();
-        
-        for (int i = 0; i < Math.min(10, topLibros.size()); i++) {
-            Libro libro = topLibros.get(i);
-            String posicion = obtenerMedalla(i + 1);
-            System.out.printf("%s %s%n", posicion, libro.getTitulo());
-            System.out.printf("   Autor: %s%n",
-                libro.getAutor() != null ? libro.getAutor().getNombre() : "Desconocido");
-            System.out.printf("   Popularidad: %.0f descargas%n", libro.getNumeroDeDescargas());
-            System.out.printf("   Idioma: %s%n", obtenerNombreIdioma(libro.getIdioma()));
+
+        int posicion = 0;
+        while (!topLibros.isEmpty()) {
+            for (LibroResumen libro : topLibros) {
+                String medalla = obtenerMedalla(++posicion);
+                System.out.printf("%s %s%n", medalla, libro.titulo());
+                System.out.printf("   Autor: %s%n", libro.autores() != null ? libro.autores() : "Desconocido");
+                System.out.printf("   Popularidad: %.0f descargas%n", libro.numeroDeDescargas());
+                System.out.printf("   Idioma: %s%n", obtenerNombresIdiomas(libro.codigosIdiomas()));
+                System.out.println();
+            }
+
+            System.out.println("Mostrando " + posicion + " libro(s)");
+            if (topLibros.size() < tamanoTop) {
+                break;
+            }
+            System.out.print("Ver los siguientes " + tamanoTop + "? (s/n): ");
+            if (!teclado.nextLine().trim().equalsIgnoreCase("s")) {
+                return;
+            }
             System.out.println();
+
+            // Continua desde el ultimo libro mostrado, sin volver a leer los anteriores
+            LibroResumen ultimo = topLibros.get(topLibros.size() - 1);
+            topLibros = consultasCatalogo.masDescargadosDespuesDe(
+                ultimo.numeroDeDescargas(), ultimo.id(), tamanoTop);
         }
-        
-        System.out.println("Mostrando " + Math.min(10, topLibros.size()) + " libro(s)");
         esperarEnter();
     }
 
+    /**
+     * Todos los libros en la consola, sin menu ni mensajes, en el formato de
+     * literalura.consola.formato. Pensado para redirigir la salida a un archivo.
+     */
+    public void listarLibros() {
+        var salida = SalidaListados.consola(formato());
+        listadoCatalogo.recorrerLibros(salida::libro);
+        salida.terminar();
+    }
+
+    // Igual que listarLibros, con los autores
+    public void listarAutores() {
+        var salida = SalidaListados.consola(formato());
+        listadoCatalogo.recorrerAutores(salida::autor);
+        salida.terminar();
+    }
+
+    private SalidaListados.Formato formato() {
+        return SalidaListados.Formato.de(formatoListados);
+    }
+
+    // El usuario solo ve un mensaje amigable; el detalle queda en las metricas y en el log
+    private void registrarError(String operacion, Exception e) {
+        Metrics.counter("literalura.errores",
+                "operacion", operacion,
+                "excepcion", e.getClass().getSimpleName()).increment();
+        log.debug("Error en la operacion {}", operacion, e);
+    }
+
     // Metodos auxiliares para mejor presentacion
+    private String obtenerNombresIdiomas(String[] codigos) {
+        if (codigos.length == 0) {
+            return "Idioma desconocido";
+        }
+        return String.join(", ", Arrays.stream(codigos).map(this::obtenerNombreIdioma).toList());
+    }
+
     private String obtenerNombreIdioma(String codigo) {
         return switch (codigo.toLowerCase()) {
             case "es" -> "Espanol";
@@ -0,0 +1,272 @@
+package com.example.literalura_challenge.principal;
+
+import com.example.literalura_challenge.model.Autor;
+import com.example.literalura_challenge.model.AutorResumen;
+import com.example.literalura_challenge.model.Libro;
+import com.example.literalura_challenge.model.LibroResumen;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Locale;
+
+/**
+ * Escribe listados largos de libros y autores con un solo buffer, sin
+ * String.format ni un flush por linea. El texto fijo de cada plantilla se separa
+ * una sola vez y en cada fila solo se agregan los valores. Ademas del formato
+ * de la consola hay una tabla compacta, CSV y JSON por linea, pensados para
+ * redirigir la salida a un archivo.
+ */
+public class SalidaListados {
+
+    public enum Formato {
+        TEXTO, TABLA, CSV, JSONL;
+
+        public static Formato de(String nombre) {
+            try {
+                return valueOf(nombre.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Formato de listado desconocido: " + nombre
+                        + " (use texto, tabla, csv o jsonl)");
+            }
+        }
+    }
+
+    private static final int TAMANO_BUFFER = 64 * 1024;
+
+    // La misma ficha que Libro.toString y Autor.toString, con la posicion y una linea en blanco
+    private static final Plantilla LIBRO_TEXTO = new Plantilla("LIBRO %s:\n" + Libro.PLANTILLA_TEXTO + "\n");
+    private static final Plantilla AUTOR_TEXTO = new Plantilla("AUTOR %s:\n" + Autor.PLANTILLA_TEXTO + "\n");
+
+    // Anchos de las columnas de la tabla, negativos si se alinean a la izquierda (como en printf).
+    // El texto mas largo se corta con "..."
+    private static final int[] COLUMNAS_LIBROS = {7, -50, -35, -10, 10};
+    private static final int[] COLUMNAS_AUTORES = {7, -45, 11, 14};
+
+    private final Writer destino;
+    private final Formato formato;
+    private boolean encabezadoEscrito;
+
+    public SalidaListados(Writer destino, Formato formato) {
+        this.destino = new BufferedWriter(destino, TAMANO_BUFFER);
+        this.formato = formato;
+    }
+
+    // Sobre la consola: lo que ya se imprimio con System.out sale antes que el listado
+    public static SalidaListados consola(Formato formato) {
+        PrintStream consola = System.out;
+        consola.flush();
+        return new SalidaListados(new OutputStreamWriter(consola, Charset.defaultCharset()), formato);
+    }
+
+    public void libro(LibroResumen libro, int posicion) {
+        try {
+            String autores = libro.autores();
+            String descargas = libro.numeroDeDescargas() != null
+                    ? Long.toString(Math.round(libro.numeroDeDescargas())) : null;
+            switch (formato) {
+                case TEXTO -> LIBRO_TEXTO.escribir(destino, Integer.toString(posicion), libro.titulo(),
+                        autores != null ? autores : "Desconocido", libro.idiomas(),
+                        descargas != null ? descargas : "Desconocido");
+                case TABLA -> {
+                    encabezado(COLUMNAS_LIBROS, "#", "Titulo", "Autores", "Idiomas", "Descargas");
+                    fila(COLUMNAS_LIBROS, Integer.toString(posicion), libro.titulo(), autores, libro.idiomas(), descargas);
+                }
+                case CSV -> {
+                    encabezado(null, "id", "titulo", "autores", "idiomas", "descargas");
+                    csv(libro.id().toString(), libro.titulo(), autores, libro.idiomas(), descargas);
+                }
+                case JSONL -> {
+                    destino.write("{\"id\":");
+                    destino.write(libro.id().toString());
+                    destino.write(",\"titulo\":");
+                    json(libro.titulo());
+                    destino.write(",\"autores\":");
+                    jsonLista(autores, "; ");
+                    destino.write(",\"idiomas\":");
+                    jsonLista(libro.idiomas(), ", ");
+                    destino.write(",\"descargas\":");
+                    destino.write(descargas != null ? descargas : "null");
+                    destino.write("}\n");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void autor(AutorResumen autor, int posicion) {
+        try {
+            String nacimiento = autor.fechaDeNacimiento() != null ? autor.fechaDeNacimiento().toString() : null;
+            String fallecimiento = autor.fechaDeFallecimiento() != null ? autor.fechaDeFallecimiento().toString() : null;
+            switch (formato) {
+                case TEXTO -> AUTOR_TEXTO.escribir(destino, Integer.toString(posicion), autor.nombre(),
+                        nacimiento != null ? nacimiento : "Desconocida", fallecimiento != null ? fallecimiento : "Vivo");
+                case TABLA -> {
+                    encabezado(COLUMNAS_AUTORES, "#", "Nombre", "Nacimiento", "Fallecimiento");
+                    fila(COLUMNAS_AUTORES, Integer.toString(posicion), autor.nombre(), nacimiento, fallecimiento);
+                }
+                case CSV -> {
+                    encabezado(null, "id", "nombre", "nacimiento", "fallecimiento");
+                    csv(autor.id().toString(), autor.nombre(), nacimiento, fallecimiento);
+                }
+                case JSONL -> {
+                    destino.write("{\"id\":");
+                    destino.write(autor.id().toString());
+                    destino.write(",\"nombre\":");
+                    json(autor.nombre());
+                    destino.write(",\"nacimiento\":");
+                    destino.write(nacimiento != null ? nacimiento : "null");
+                    destino.write(",\"fallecimiento\":");
+                    destino.write(fallecimiento != null ? fallecimiento : "null");
+                    destino.write("}\n");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Envia lo que queda en el buffer; no cierra el destino (puede ser la consola)
+    public void terminar() {
+        try {
+            destino.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Primera linea del listado: nombres de columna (CSV) o titulos y separador (tabla)
+    private void encabezado(int[] anchos, String... columnas) throws IOException {
+        if (encabezadoEscrito) {
+            return;
+        }
+        encabezadoEscrito = true;
+        if (anchos == null) {
+            csv(columnas);
+            return;
+        }
+        fila(anchos, columnas);
+        int total = anchos.length - 1;
+        for (int ancho : anchos) {
+            total += Math.abs(ancho);
+        }
+        repetir('-', total);
+        destino.write('\n');
+    }
+
+    private void fila(int[] anchos, String... valores) throws IOException {
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                destino.write(' ');
+            }
+            String valor = valores[i] != null ? valores[i] : "-";
+            int ancho = Math.abs(anchos[i]);
+            if (valor.length() > ancho) {
+                destino.write(valor, 0, ancho - 3);
+                destino.write("...");
+            } else if (anchos[i] > 0) {
+                repetir(' ', ancho - valor.length());
+                destino.write(valor);
+            } else {
+                destino.write(valor);
+                // Sin espacios de relleno al final de la linea
+                if (i < valores.length - 1) {
+                    repetir(' ', ancho - valor.length());
+                }
+            }
+        }
+        destino.write('\n');
+    }
+
+    private void csv(String... valores) throws IOException {
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                destino.write(',');
+            }
+            String valor = valores[i];
+            if (valor == null) {
+                continue;
+            }
+            if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+                destino.write(valor);
+            } else {
+                destino.write('"');
+                destino.write(valor.replace("\"", "\"\""));
+                destino.write('"');
+            }
+        }
+        destino.write('\n');
+    }
+
+    // Los nombres se guardan unidos ("a; b") y en JSON van como lista
+    private void jsonLista(String unidos, String separador) throws IOException {
+        destino.write('[');
+        if (unidos != null && !unidos.isEmpty()) {
+            int desde = 0;
+            while (true) {
+                int hasta = unidos.indexOf(separador, desde);
+                json(unidos.substring(desde, hasta < 0 ? unidos.length() : hasta));
+                if (hasta < 0) {
+                    break;
+                }
+                destino.write(',');
+                desde = hasta + separador.length();
+            }
+        }
+        destino.write(']');
+    }
+
+    private void json(String valor) throws IOException {
+        if (valor == null) {
+            destino.write("null");
+            return;
+        }
+        destino.write('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '"' -> destino.write("\\\"");
+                case '\\' -> destino.write("\\\\");
+                case '\n' -> destino.write("\\n");
+                case '\r' -> destino.write("\\r");
+                case '\t' -> destino.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        destino.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        destino.write(c);
+                    }
+                }
+            }
+        }
+        destino.write('"');
+    }
+
+    private void repetir(char caracter, int veces) throws IOException {
+        for (int i = 0; i < veces; i++) {
+            destino.write(caracter);
+        }
+    }
+
+    // Texto fijo de una plantilla, separado una sola vez en los huecos %s
+    private static final class Plantilla {
+        private final String[] partes;
+
+        Plantilla(String texto) {
+            this.partes = texto.split("%s", -1);
+        }
+
+        void escribir(Writer destino, String... valores) throws IOException {
+            for (int i = 0; i < valores.length; i++) {
+                destino.write(partes[i]);
+                destino.write(valores[i] != null ? valores[i] : "null");
+            }
+            destino.write(partes[valores.length]);
+        }
+    }
+}
@@ -1,21 +1,53 @@
 package com.example.literalura_challenge.repository;
 
 import com.example.literalura_challenge.model.Autor;
+import com.example.literalura_challenge.model.AutorResumen;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AutorRepository extends JpaRepository<Autor, Long> {
 
-    Optional<Autor> findByNombreContainsIgnoreCase(String nombre);
+    // Busqueda por fragmento de nombre, servida por el indice trigram idx_autores_nombre_trgm
+    default Optional<Autor> buscarPorNombreIndexado(String nombre) {
+        return buscarPorPatronDeNombre(PatronLike.contiene(nombre));
+    }
 
+    // El patron ya viene escapado (ver PatronLike)
+    @Query(value = "SELECT * FROM autores WHERE lower(nombre) LIKE lower(:patron) ESCAPE '\\' LIMIT 1",
+           nativeQuery = true)
+    Optional<Autor> buscarPorPatronDeNombre(@Param("patron") String patron);
+
+    Optional<Autor> findFirstByNombreAndFechaDeNacimientoAndFechaDeFallecimiento(
+            String nombre, Integer fechaDeNacimiento, Integer fechaDeFallecimiento);
+
+    // Listado completo como flujo de proyecciones: solo lectura y leido de a 500 filas
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.literalura_challenge.model.AutorResumen(" +
+           "a.id, a.nombre, a.fechaDeNacimiento, a.fechaDeFallecimiento) FROM Autor a ORDER BY a.id")
+    Stream<AutorResumen> streamResumenes();
+
+    @Query("SELECT new com.example.literalura_challenge.model.AutorResumen(" +
+           "a.id, a.nombre, a.fechaDeNacimiento, a.fechaDeFallecimiento) FROM Autor a ORDER BY a.id")
+    Slice<AutorResumen> findResumenes(Pageable pagina);
+
+    // Comparacion directa sobre columnas enteras, servida por idx_autores_anos
     @Query("SELECT a FROM Autor a WHERE " +
-           "(a.fechaDeNacimiento IS NULL OR CAST(a.fechaDeNacimiento AS integer) <= :ano) AND " +
-           "(a.fechaDeFallecimiento IS NULL OR CAST(a.fechaDeFallecimiento AS integer) > :ano)")
+           "(a.fechaDeNacimiento IS NULL OR a.fechaDeNacimiento <= :ano) AND " +
+           "(a.fechaDeFallecimiento IS NULL OR a.fechaDeFallecimiento > :ano)")
     List<Autor> findAutoresVivosEnAno(@Param("ano") Integer ano);
 }
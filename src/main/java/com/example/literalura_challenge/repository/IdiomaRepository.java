@@ -0,0 +1,21 @@
+package com.example.literalura_challenge.repository;
+
+import com.example.literalura_challenge.model.EstadisticaIdioma;
+import com.example.literalura_challenge.model.Idioma;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface IdiomaRepository extends JpaRepository<Idioma, Integer> {
+
+    Optional<Idioma> findByCodigo(String codigo);
+
+    // Un conteo por idioma sobre libro_idiomas (SIZE), servido por idx_libro_idiomas_idioma sin leer libros
+    @Query("SELECT new com.example.literalura_challenge.model.EstadisticaIdioma(i.codigo, CAST(SIZE(i.libros) AS Long)) " +
+           "FROM Idioma i WHERE SIZE(i.libros) > 0 ORDER BY SIZE(i.libros) DESC")
+    List<EstadisticaIdioma> obtenerEstadisticasPorIdioma();
+}
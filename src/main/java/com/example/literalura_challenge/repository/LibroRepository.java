@@ -1,31 +1,79 @@
 package com.example.literalura_challenge.repository;
 
 import com.example.literalura_challenge.model.Libro;
+import com.example.literalura_challenge.model.LibroResumen;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface LibroRepository extends JpaRepository<Libro, Long> {
 
-    Optional<Libro> findByTituloContainsIgnoreCase(String titulo);
+    // Busqueda por fragmento de titulo, servida por el indice trigram idx_libros_titulo_trgm
+    default Optional<Libro> buscarPorTituloIndexado(String titulo) {
+        return buscarPorPatronDeTitulo(PatronLike.contiene(titulo));
+    }
 
-    List<Libro> findByIdioma(String idioma);
+    default List<Libro> buscarLibrosPorTituloIndexado(String titulo, int limite) {
+        return buscarLibrosPorPatronDeTitulo(PatronLike.contiene(titulo), limite);
+    }
 
-    @Query("SELECT l FROM Libro l ORDER BY l.numeroDeDescargas DESC")
-    List<Libro> findTop10ByOrderByNumeroDeDescargasDesc();
+    // El patron ya viene escapado (ver PatronLike)
+    @Query(value = "SELECT * FROM libros WHERE lower(titulo) LIKE lower(:patron) ESCAPE '\\' LIMIT 1",
+           nativeQuery = true)
+    Optional<Libro> buscarPorPatronDeTitulo(@Param("patron") String patron);
 
-    // Contar libros por idioma específico
-    Long countByIdioma(String idioma);
+    @Query(value = "SELECT * FROM libros WHERE lower(titulo) LIKE lower(:patron) ESCAPE '\\' " +
+                   "ORDER BY numero_de_descargas DESC LIMIT :limite",
+           nativeQuery = true)
+    List<Libro> buscarLibrosPorPatronDeTitulo(@Param("patron") String patron, @Param("limite") int limite);
 
-    // Obtener todos los idiomas disponibles
-    @Query("SELECT DISTINCT l.idioma FROM Libro l ORDER BY l.idioma")
-    List<String> findDistinctIdiomas();
+    // Cuales de estos titulos ya estan en la biblioteca, en una sola consulta
+    @Query("SELECT l.titulo FROM Libro l WHERE l.titulo IN :titulos")
+    List<String> findTitulosExistentes(@Param("titulos") Collection<String> titulos);
 
-    // Estadísticas por idioma
-    @Query("SELECT l.idioma, COUNT(l) FROM Libro l GROUP BY l.idioma ORDER BY COUNT(l) DESC")
-    List<Object[]> obtenerEstadisticasPorIdioma();
+    // Resumen con todos los autores e idiomas de cada libro, unidos en el orden de Gutendex
+    String RESUMEN = "SELECT new com.example.literalura_challenge.model.LibroResumen(l.id, l.titulo, " +
+            "(SELECT listagg(a.nombre, '; ') WITHIN GROUP (ORDER BY index(a)) FROM Libro la JOIN la.autores a WHERE la = l), " +
+            "(SELECT listagg(i.codigo, ', ') WITHIN GROUP (ORDER BY index(i)) FROM Libro li JOIN li.idiomas i WHERE li = l), " +
+            "l.numeroDeDescargas) FROM Libro l ";
+
+    // Listado completo como flujo de proyecciones: solo lectura y leido de a 500 filas
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(RESUMEN + "ORDER BY l.id")
+    Stream<LibroResumen> streamResumenes();
+
+    @Query(RESUMEN + "ORDER BY l.id")
+    Slice<LibroResumen> findResumenes(Pageable pagina);
+
+    // Filtro por idioma servido por idx_libro_idiomas_idioma
+    @Query(RESUMEN + "WHERE l.id IN (SELECT lf.id FROM Libro lf JOIN lf.idiomas fi WHERE fi.codigo = :codigo) " +
+           "ORDER BY l.id")
+    List<LibroResumen> findResumenesPorIdioma(@Param("codigo") String codigo);
+
+    // Ranking por descargas servido por idx_libros_descargas: solo lee los libros de la pagina
+    @Query(RESUMEN + "WHERE l.numeroDeDescargas IS NOT NULL " +
+           "ORDER BY l.numeroDeDescargas DESC, l.id DESC")
+    List<LibroResumen> findMasDescargados(Pageable pagina);
+
+    // Continua el ranking despues del ultimo libro mostrado (paginacion por clave, sin OFFSET)
+    @Query(RESUMEN + "WHERE l.numeroDeDescargas < :descargas OR " +
+           "(l.numeroDeDescargas = :descargas AND l.id < :id) " +
+           "ORDER BY l.numeroDeDescargas DESC, l.id DESC")
+    List<LibroResumen> findMasDescargadosDespuesDe(@Param("descargas") Double descargas, @Param("id") Long id,
+                                                   Pageable pagina);
 }
@@ -0,0 +1,24 @@
+package com.example.literalura_challenge.repository;
+
+/**
+ * Patron LIKE '%texto%' para las busquedas por fragmento. Los caracteres
+ * especiales del texto (% _ y \) se escapan con \ para que se busquen tal cual,
+ * igual que hacian las consultas derivadas ContainsIgnoreCase.
+ */
+final class PatronLike {
+
+    private PatronLike() {
+    }
+
+    static String contiene(String texto) {
+        StringBuilder patron = new StringBuilder(texto.length() + 8).append('%');
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c == '\\' || c == '%' || c == '_') {
+                patron.append('\\');
+            }
+            patron.append(c);
+        }
+        return patron.append('%').toString();
+    }
+}
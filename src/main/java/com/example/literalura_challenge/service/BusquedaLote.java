@@ -0,0 +1,237 @@
+package com.example.literalura_challenge.service;
+
+import com.example.literalura_challenge.model.DatosLibro;
+import com.example.literalura_challenge.model.Libro;
+import com.example.literalura_challenge.repository.LibroRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Busca una lista de titulos en Gutendex y agrega a la biblioteca los que encuentra.
+ * Las busquedas se hacen en paralelo, con un maximo de consultas por segundo y
+ * reintentos con espera creciente cuando Gutendex responde 429 o 5xx o falla la red. Los libros
+ * que ya estan en la biblioteca se descartan con una sola consulta y el resto se
+ * guarda en una sola transaccion.
+ */
+@Service
+public class BusquedaLote {
+
+    // Tope de la espera entre reintentos, aunque el servidor pida mas
+    private static final long ESPERA_MAXIMA_MILIS = 30_000;
+
+    public enum Estado { AGREGADO, YA_EXISTIA, NO_ENCONTRADO, ERROR }
+
+    public record ResultadoTitulo(String buscado, Estado estado, String encontrado) {
+    }
+
+    public record ResultadoLote(List<ResultadoTitulo> resultados) {
+        public long cantidad(Estado estado) {
+            return resultados.stream().filter(resultado -> resultado.estado() == estado).count();
+        }
+    }
+
+    @Value("${literalura.lote.concurrencia:4}")
+    private int concurrencia;
+
+    @Value("${literalura.lote.consultas-por-segundo:4}")
+    private double consultasPorSegundo;
+
+    @Value("${literalura.lote.reintentos:3}")
+    private int reintentos;
+
+    @Autowired
+    private LibroService libroService;
+
+    @Autowired
+    private LibroRepository libroRepository;
+
+    @Autowired
+    private ResolutorAutores resolutorAutores;
+
+    @Autowired
+    private ResolutorIdiomas resolutorIdiomas;
+
+    @Autowired
+    private ConsultasCatalogo consultasCatalogo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Momento (System.nanoTime) a partir del cual se puede enviar la proxima consulta
+    private long proximaConsulta = System.nanoTime();
+
+    public ResultadoLote buscarYGuardar(List<String> titulos) {
+        return buscarYGuardar(titulos, titulo -> { });
+    }
+
+    // Igual que buscarYGuardar(titulos), avisando cada titulo cuya busqueda termino para mostrar el avance
+    public ResultadoLote buscarYGuardar(List<String> titulos, Consumer<String> avance) {
+        List<String> buscados = sinRepetidos(titulos);
+        Map<String, Optional<DatosLibro>> encontrados = buscarEnParalelo(buscados, avance);
+
+        // Un mismo libro puede salir de dos busquedas distintas: se guarda una sola vez
+        Map<String, DatosLibro> porTitulo = new LinkedHashMap<>();
+        encontrados.values().forEach(datos -> datos.ifPresent(libro -> porTitulo.putIfAbsent(libro.titulo(), libro)));
+
+        Set<String> existentes = porTitulo.isEmpty()
+                ? Set.of() : new HashSet<>(libroRepository.findTitulosExistentes(porTitulo.keySet()));
+        List<Libro> nuevos = guardar(porTitulo.values().stream()
+                .filter(datos -> !existentes.contains(datos.titulo()))
+                .toList());
+        Set<String> agregados = new HashSet<>();
+        nuevos.forEach(libro -> agregados.add(libro.getTitulo()));
+
+        List<ResultadoTitulo> resultados = new ArrayList<>(buscados.size());
+        for (String buscado : buscados) {
+            Optional<DatosLibro> datos = encontrados.get(buscado);
+            if (datos == null) {
+                resultados.add(new ResultadoTitulo(buscado, Estado.ERROR, null));
+            } else if (datos.isEmpty()) {
+                resultados.add(new ResultadoTitulo(buscado, Estado.NO_ENCONTRADO, null));
+            } else {
+                String titulo = datos.get().titulo();
+                // Solo cuenta como agregado para la primera busqueda que lo encontro
+                resultados.add(new ResultadoTitulo(buscado,
+                        agregados.remove(titulo) ? Estado.AGREGADO : Estado.YA_EXISTIA, titulo));
+            }
+        }
+        return new ResultadoLote(resultados);
+    }
+
+    // Resultado de cada busqueda; los titulos que fallaron despues de los reintentos no quedan en el mapa
+    private Map<String, Optional<DatosLibro>> buscarEnParalelo(List<String> titulos, Consumer<String> avance) {
+        Map<String, Optional<DatosLibro>> encontrados = new LinkedHashMap<>();
+        ExecutorService busquedas = Executors.newFixedThreadPool(Math.max(1, Math.min(concurrencia, titulos.size())));
+        try {
+            Map<String, CompletableFuture<Optional<DatosLibro>>> pendientes = new LinkedHashMap<>();
+            for (String titulo : titulos) {
+                pendientes.put(titulo, CompletableFuture.supplyAsync(() -> buscarConReintentos(titulo), busquedas)
+                        .whenComplete((datos, error) -> avance.accept(titulo)));
+            }
+            pendientes.forEach((titulo, busqueda) -> {
+                try {
+                    encontrados.put(titulo, busqueda.join());
+                } catch (RuntimeException e) {
+                    // Queda sin resultado y se informa como ERROR
+                }
+            });
+        } finally {
+            busquedas.shutdownNow();
+        }
+        return encontrados;
+    }
+
+    private Optional<DatosLibro> buscarConReintentos(String titulo) {
+        for (int intento = 1; ; intento++) {
+            esperarTurno();
+            try {
+                return libroService.buscarEnGutendex(titulo);
+            } catch (ErrorGutendex e) {
+                if (!e.esReintentable() || intento > reintentos) {
+                    throw e;
+                }
+                // Un Retry-After enorme no deja al lote esperando horas
+                long espera = e.getReintentarEnSegundos() >= 0
+                        ? Math.min(e.getReintentarEnSegundos() * 1000, ESPERA_MAXIMA_MILIS) : tiempoDeEspera(intento);
+                esperar(espera);
+            } catch (RuntimeException e) {
+                // Solo las fallas de red (sin conexion, tiempo agotado) se reintentan igual que un 5xx;
+                // una respuesta que no se pudo leer o una interrupcion fallarian otra vez
+                if (!(e.getCause() instanceof IOException) || intento > reintentos) {
+                    throw e;
+                }
+                esperar(tiempoDeEspera(intento));
+            }
+        }
+    }
+
+    // Espera exponencial (1 s, 2 s, 4 s...) con una variacion al azar para no reintentar todos juntos
+    private long tiempoDeEspera(int intento) {
+        long base = 1000L << Math.min(intento - 1, 5);
+        return Math.min(base + ThreadLocalRandom.current().nextLong(base / 2 + 1), ESPERA_MAXIMA_MILIS);
+    }
+
+    // Reparte las consultas para no superar consultasPorSegundo entre todos los hilos
+    private void esperarTurno() {
+        long intervalo = (long) (1_000_000_000L / consultasPorSegundo);
+        long turno;
+        synchronized (this) {
+            long ahora = System.nanoTime();
+            turno = proximaConsulta - ahora > 0 ? proximaConsulta : ahora;
+            proximaConsulta = turno + intervalo;
+        }
+        long espera = turno - System.nanoTime();
+        if (espera > 0) {
+            esperar(espera / 1_000_000);
+        }
+    }
+
+    private List<Libro> guardar(List<DatosLibro> datos) {
+        if (datos.isEmpty()) {
+            return List.of();
+        }
+        // Autores e idiomas se resuelven fuera de la transaccion, igual que en ImportadorCatalogo
+        List<Libro> libros = new ArrayList<>(datos.size());
+        for (DatosLibro libro : datos) {
+            libros.add(new Libro(libro, resolutorAutores.resolver(libro), resolutorIdiomas.resolver(libro)));
+        }
+        try {
+            transactionTemplate.executeWithoutResult(estado -> libroRepository.saveAll(libros));
+        } catch (DataIntegrityViolationException e) {
+            // Otro pedido guardo alguno de estos titulos despues de findTitulosExistentes y el lote
+            // se deshizo entero: se guardan de a uno y los que ya estaban quedan como YA_EXISTIA
+            return guardarDeAUno(datos);
+        }
+        libros.forEach(consultasCatalogo::registrarLibro);
+        return libros;
+    }
+
+    private List<Libro> guardarDeAUno(List<DatosLibro> datos) {
+        List<Libro> nuevos = new ArrayList<>();
+        for (DatosLibro libro : datos) {
+            var resultado = libroService.guardar(libro);
+            if (resultado.nuevo()) {
+                nuevos.add(resultado.libro());
+            }
+        }
+        return nuevos;
+    }
+
+    // Sin titulos vacios ni repetidos (sin distinguir mayusculas), en el orden recibido
+    private static List<String> sinRepetidos(List<String> titulos) {
+        Map<String, String> unicos = new LinkedHashMap<>();
+        for (String titulo : titulos) {
+            if (titulo != null && !titulo.isBlank()) {
+                unicos.putIfAbsent(titulo.trim().toLowerCase(Locale.ROOT), titulo.trim());
+            }
+        }
+        return new ArrayList<>(unicos.values());
+    }
+
+    private void esperar(long milisegundos) {
+        try {
+            Thread.sleep(milisegundos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("La busqueda fue interrumpida.", e);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.example.literalura_challenge.service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Cache de respuestas de Gutendex en dos niveles: memoria (LRU con limite de
+ * entradas) y, opcionalmente, disco para conservarla entre ejecuciones.
+ * Las entradas vencidas se conservan para poder revalidarlas con ETag/Last-Modified.
+ * El disco guarda lo mismo que la memoria: al iniciar se cargan los archivos (los
+ * mas recientes, hasta el limite; el resto se borra) y al desalojar una entrada se
+ * borra su archivo. Los archivos se escriben y borran fuera del monitor del mapa,
+ * con un candado por clave.
+ */
+public class CacheRespuestas {
+    private static final int MARCA_ARCHIVO = 0x4C434331; // "LCC1"
+    private static final int CANDADOS_ARCHIVO = 64;
+
+    public record Entrada(String cuerpo, String etag, String ultimaModificacion, long guardadaEn) {
+    }
+
+    private final int maxEntradas;
+    private final long ttlMilis;
+    private final Path directorio;
+    private final Map<String, Entrada> memoria;
+    // Claves desalojadas cuyo archivo falta borrar; se accede con el monitor tomado
+    private final List<String> desalojadas = new ArrayList<>();
+    // Escribir y borrar el archivo de una clave se hace con su candado: la ultima
+    // operacion sobre el archivo siempre corresponde a lo que hay en memoria
+    private final Object[] candadosArchivo = new Object[CANDADOS_ARCHIVO];
+
+    private final AtomicLong aciertos = new AtomicLong();
+    private final AtomicLong fallos = new AtomicLong();
+    private final AtomicLong desalojos = new AtomicLong();
+
+    public CacheRespuestas(int maxEntradas, Duration ttl, Path directorio) {
+        this.maxEntradas = maxEntradas;
+        this.ttlMilis = ttl.toMillis();
+        this.directorio = directorio;
+        this.memoria = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada> eldest) {
+                if (size() > CacheRespuestas.this.maxEntradas) {
+                    desalojos.incrementAndGet();
+                    if (CacheRespuestas.this.directorio != null) {
+                        desalojadas.add(eldest.getKey());
+                    }
+                    return true;
+                }
+                return false;
+            }
+        };
+        Arrays.setAll(candadosArchivo, i -> new Object());
+        if (directorio != null) {
+            try {
+                Files.createDirectories(directorio);
+                cargarDeDisco();
+            } catch (IOException e) {
+                throw new RuntimeException("No se pudo leer el directorio de la cache: " + directorio, e);
+            }
+        }
+    }
+
+    /**
+     * Devuelve la entrada guardada para la clave, vigente o vencida, o null si no existe.
+     * Lo que hay en disco ya se cargo al iniciar, asi que basta con la memoria.
+     */
+    public synchronized Entrada obtener(String clave) {
+        return memoria.get(clave);
+    }
+
+    public void guardar(String clave, Entrada entrada) {
+        List<String> aBorrar;
+        synchronized (this) {
+            memoria.put(clave, entrada);
+            aBorrar = tomarDesalojadas();
+        }
+        if (directorio != null) {
+            escribirEnDisco(clave, entrada);
+            borrarDeDisco(aBorrar);
+        }
+    }
+
+    public boolean estaVigente(Entrada entrada) {
+        return System.currentTimeMillis() - entrada.guardadaEn() < ttlMilis;
+    }
+
+    public void registrarAcierto() {
+        aciertos.incrementAndGet();
+    }
+
+    public void registrarFallo() {
+        fallos.incrementAndGet();
+    }
+
+    public long getAciertos() {
+        return aciertos.get();
+    }
+
+    public long getFallos() {
+        return fallos.get();
+    }
+
+    public long getDesalojos() {
+        return desalojos.get();
+    }
+
+    public synchronized int getTamano() {
+        return memoria.size();
+    }
+
+    private List<String> tomarDesalojadas() {
+        if (desalojadas.isEmpty()) {
+            return List.of();
+        }
+        List<String> claves = List.copyOf(desalojadas);
+        desalojadas.clear();
+        return claves;
+    }
+
+    private Object candadoArchivo(String clave) {
+        return candadosArchivo[Math.floorMod(clave.hashCode(), CANDADOS_ARCHIVO)];
+    }
+
+    private void borrarDeDisco(List<String> claves) {
+        for (String clave : claves) {
+            synchronized (candadoArchivo(clave)) {
+                synchronized (this) {
+                    // Se volvio a guardar despues del desalojo: su archivo sigue valiendo
+                    if (memoria.containsKey(clave)) {
+                        continue;
+                    }
+                }
+                try {
+                    Files.deleteIfExists(archivoPara(clave));
+                } catch (IOException e) {
+                    // Un archivo que no se pudo borrar solo ocupa lugar; se ignora
+                }
+            }
+        }
+    }
+
+    // Los archivos de ejecuciones anteriores, del mas viejo al mas nuevo: los que pasan el limite se desalojan
+    private void cargarDeDisco() throws IOException {
+        List<Path> archivos;
+        try (Stream<Path> listado = Files.list(directorio)) {
+            archivos = listado.filter(Files::isRegularFile).toList();
+        }
+        List<Path> entradas = new ArrayList<>();
+        for (Path archivo : archivos) {
+            String nombre = archivo.getFileName().toString();
+            if (nombre.endsWith(".cache")) {
+                entradas.add(archivo);
+            } else if (nombre.startsWith("entrada") && nombre.endsWith(".tmp")) {
+                // Escritura interrumpida de una ejecucion anterior
+                Files.deleteIfExists(archivo);
+            }
+        }
+        entradas.sort(Comparator.comparing(CacheRespuestas::modificado));
+        for (Path archivo : entradas) {
+            Map.Entry<String, Entrada> leida = leerArchivo(archivo);
+            if (leida == null || !archivo.equals(archivoPara(leida.getKey()))) {
+                // Danado o de un formato anterior
+                Files.deleteIfExists(archivo);
+            } else {
+                memoria.put(leida.getKey(), leida.getValue());
+            }
+        }
+        for (String clave : tomarDesalojadas()) {
+            Files.deleteIfExists(archivoPara(clave));
+        }
+        // Lo desalojado al cargar no cuenta como desalojo de esta ejecucion
+        desalojos.set(0);
+    }
+
+    private static FileTime modificado(Path archivo) {
+        try {
+            return Files.getLastModifiedTime(archivo);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static Map.Entry<String, Entrada> leerArchivo(Path archivo) {
+        try (InputStream entrada = Files.newInputStream(archivo);
+             DataInputStream datos = new DataInputStream(entrada)) {
+            if (datos.readInt() != MARCA_ARCHIVO) {
+                return null;
+            }
+            String clave = datos.readUTF();
+            long guardadaEn = datos.readLong();
+            String etag = vacioANulo(datos.readUTF());
+            String ultimaModificacion = vacioANulo(datos.readUTF());
+            byte[] cuerpo = new byte[datos.readInt()];
+            datos.readFully(cuerpo);
+            return Map.entry(clave, new Entrada(new String(cuerpo, StandardCharsets.UTF_8), etag, ultimaModificacion, guardadaEn));
+        } catch (IOException | RuntimeException e) {
+            // Un archivo danado se trata como si no existiera
+            return null;
+        }
+    }
+
+    private void escribirEnDisco(String clave, Entrada entrada) {
+        synchronized (candadoArchivo(clave)) {
+            synchronized (this) {
+                // Ya la desalojaron o la reemplazo una mas nueva: no se escribe una version vieja
+                if (memoria.get(clave) != entrada) {
+                    return;
+                }
+            }
+            Path archivo = archivoPara(clave);
+            Path temporal = null;
+            try {
+                temporal = Files.createTempFile(directorio, "entrada", ".tmp");
+                try (OutputStream salida = Files.newOutputStream(temporal);
+                     DataOutputStream datos = new DataOutputStream(salida)) {
+                    byte[] cuerpo = entrada.cuerpo().getBytes(StandardCharsets.UTF_8);
+                    datos.writeInt(MARCA_ARCHIVO);
+                    datos.writeUTF(clave);
+                    datos.writeLong(entrada.guardadaEn());
+                    datos.writeUTF(entrada.etag() != null ? entrada.etag() : "");
+                    datos.writeUTF(entrada.ultimaModificacion() != null ? entrada.ultimaModificacion() : "");
+                    datos.writeInt(cuerpo.length);
+                    datos.write(cuerpo);
+                }
+                Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                // La cache en disco es opcional: si falla, se sigue trabajando solo en memoria
+                if (temporal != null) {
+                    temporal.toFile().delete();
+                }
+            }
+        }
+    }
+
+    private Path archivoPara(String clave) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(clave.getBytes(StandardCharsets.UTF_8));
+            return directorio.resolve(HexFormat.of().formatHex(hash) + ".cache");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String vacioANulo(String valor) {
+        return valor.isEmpty() ? null : valor;
+    }
+}
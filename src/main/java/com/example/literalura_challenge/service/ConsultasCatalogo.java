@@ -0,0 +1,40 @@
+package com.example.literalura_challenge.service;
+
+import com.example.literalura_challenge.model.AutorResumen;
+import com.example.literalura_challenge.model.EstadisticaIdioma;
+import com.example.literalura_challenge.model.Libro;
+import com.example.literalura_challenge.model.LibroResumen;
+
+import java.util.List;
+
+/**
+ * Consultas de solo lectura de las opciones 4 a 7 del menu. Las resuelve la
+ * base de datos (ConsultasCatalogoJpa) o, si esta habilitado, el modelo de
+ * lectura en memoria (ModeloLectura).
+ */
+public interface ConsultasCatalogo {
+
+    List<AutorResumen> autoresVivosEnAno(int ano);
+
+    List<LibroResumen> librosPorIdioma(String idioma);
+
+    // Ordenadas de mayor a menor cantidad de libros
+    List<EstadisticaIdioma> estadisticasPorCantidad();
+
+    // Ordenadas por codigo de idioma
+    List<EstadisticaIdioma> estadisticasPorIdioma();
+
+    // Libros distintos: un libro en dos idiomas cuenta en cada estadistica pero una sola vez aca
+    long totalLibros();
+
+    List<LibroResumen> masDescargados(int cantidad);
+
+    // Continua el ranking despues del libro con esas descargas e id
+    List<LibroResumen> masDescargadosDespuesDe(double descargas, long id, int cantidad);
+
+    // Avisa que se guardo un libro nuevo para mantener las consultas al dia
+    void registrarLibro(Libro libro);
+
+    // Vuelve a leer todo de la base despues de cambios masivos (ej: restaurar una copia)
+    void recargar();
+}
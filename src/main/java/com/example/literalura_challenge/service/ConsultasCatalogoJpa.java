@@ -0,0 +1,76 @@
+package com.example.literalura_challenge.service;
+
+import com.example.literalura_challenge.model.AutorResumen;
+import com.example.literalura_challenge.model.EstadisticaIdioma;
+import com.example.literalura_challenge.model.Libro;
+import com.example.literalura_challenge.model.LibroResumen;
+import com.example.literalura_challenge.repository.AutorRepository;
+import com.example.literalura_challenge.repository.LibroRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Consultas del catalogo resueltas con los repositorios.
+ */
+@Service
+public class ConsultasCatalogoJpa implements ConsultasCatalogo {
+
+    @Autowired
+    private LibroRepository libroRepository;
+
+    @Autowired
+    private AutorRepository autorRepository;
+
+    @Autowired
+    private EstadisticasIdioma estadisticasIdioma;
+
+    @Override
+    public List<AutorResumen> autoresVivosEnAno(int ano) {
+        return autorRepository.findAutoresVivosEnAno(ano).stream()
+                .map(AutorResumen::de)
+                .toList();
+    }
+
+    @Override
+    public List<LibroResumen> librosPorIdioma(String idioma) {
+        return libroRepository.findResumenesPorIdioma(idioma);
+    }
+
+    @Override
+    public List<EstadisticaIdioma> estadisticasPorCantidad() {
+        return estadisticasIdioma.porCantidad();
+    }
+
+    @Override
+    public List<EstadisticaIdioma> estadisticasPorIdioma() {
+        return estadisticasIdioma.porIdioma();
+    }
+
+    @Override
+    public long totalLibros() {
+        return libroRepository.count();
+    }
+
+    @Override
+    public List<LibroResumen> masDescargados(int cantidad) {
+        return libroRepository.findMasDescargados(PageRequest.of(0, cantidad));
+    }
+
+    @Override
+    public List<LibroResumen> masDescargadosDespuesDe(double descargas, long id, int cantidad) {
+        return libroRepository.findMasDescargadosDespuesDe(descargas, id, PageRequest.of(0, cantidad));
+    }
+
+    @Override
+    public void registrarLibro(Libro libro) {
+        libro.getIdiomas().forEach(idioma -> estadisticasIdioma.registrarLibro(idioma.getCodigo()));
+    }
+
+    @Override
+    public void recargar() {
+        estadisticasIdioma.invalidar();
+    }
+}
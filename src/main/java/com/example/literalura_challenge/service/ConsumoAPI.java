@@ -1,39 +1,201 @@
 package com.example.literalura_challenge.service;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
 
 public class ConsumoAPI {
+    // Cliente unico y seguro entre hilos: reutiliza las conexiones HTTP/2 entre llamadas
+    private static final HttpClient CLIENTE = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
 
-    public String obtenerDatos(String url) {
-        HttpClient client = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(10))
-                .build();
-
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .timeout(Duration.ofSeconds(30))
-                .header("User-Agent", "LiteraluraApp/1.0")
-                .build();
+    // Maximo de consultas asincronas en curso al mismo tiempo
+    private static final int MAX_CONSULTAS_SIMULTANEAS = 8;
+    private static final Semaphore PERMISOS = new Semaphore(MAX_CONSULTAS_SIMULTANEAS);
+    // Peticiones asincronas que esperan un permiso
+    private static final Queue<Runnable> EN_ESPERA = new ConcurrentLinkedQueue<>();
 
+    public String obtenerDatos(String url) {
         HttpResponse<String> response = null;
         try {
             // Eliminar mensajes técnicos para usuarios comunes
-            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            response = enviar(crearPeticion(url).build(), HttpResponse.BodyHandlers.ofString(), "texto");
+            return validarRespuesta(response);
+        } catch (IOException e) {
+            throw new RuntimeException("No se pudo conectar al servidor de libros. Verifique su conexion a Internet.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("La busqueda fue interrumpida.", e);
+        }
+    }
 
+    /**
+     * Consulta condicional: envia los validadores de una respuesta guardada y
+     * devuelve la respuesta completa, con codigo 200 (contenido nuevo) o 304 (sin cambios).
+     */
+    public HttpResponse<String> obtenerRespuesta(String url, String etag, String ultimaModificacion) {
+        HttpRequest.Builder peticion = crearPeticion(url);
+        if (etag != null) {
+            peticion.header("If-None-Match", etag);
+        }
+        if (ultimaModificacion != null) {
+            peticion.header("If-Modified-Since", ultimaModificacion);
+        }
+        try {
+            HttpResponse<String> response = enviar(peticion.build(), HttpResponse.BodyHandlers.ofString(), "condicional");
+            if (response.statusCode() == 200 || response.statusCode() == 304) {
+                return response;
+            }
+            throw new ErrorGutendex(response);
+        } catch (IOException e) {
+            throw new RuntimeException("No se pudo conectar al servidor de libros. Verifique su conexion a Internet.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("La busqueda fue interrumpida.", e);
+        }
+    }
+
+    /**
+     * Devuelve el cuerpo de la respuesta como flujo, para leerlo mientras llega
+     * sin cargarlo completo en memoria. Quien lo recibe debe cerrarlo.
+     */
+    public InputStream obtenerFlujo(String url) {
+        try {
+            HttpResponse<InputStream> response = enviar(crearPeticion(url).build(), HttpResponse.BodyHandlers.ofInputStream(), "flujo");
             if (response.statusCode() == 200) {
                 return response.body();
-            } else {
-                throw new RuntimeException("Error en la conexion con el servidor de libros");
             }
+            response.body().close();
+            throw new ErrorGutendex(response);
         } catch (IOException e) {
             throw new RuntimeException("No se pudo conectar al servidor de libros. Verifique su conexion a Internet.", e);
         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             throw new RuntimeException("La busqueda fue interrumpida.", e);
         }
     }
+
+    /**
+     * Variante asincrona de {@link #obtenerDatos(String)}. Nunca bloquea a quien la
+     * llama: si ya hay {@value #MAX_CONSULTAS_SIMULTANEAS} consultas en curso, la
+     * peticion queda en espera y se envia cuando termina alguna.
+     */
+    public CompletableFuture<String> obtenerDatosAsync(String url) {
+        // Una URL invalida falla aca, antes de encolar la peticion
+        HttpRequest peticion = crearPeticion(url).build();
+        CompletableFuture<String> resultado = new CompletableFuture<>();
+        EN_ESPERA.add(() -> enviarAsync(peticion, resultado));
+        despachar();
+        return resultado;
+    }
+
+    // Envia las peticiones en espera mientras haya permisos libres
+    private static void despachar() {
+        while (PERMISOS.tryAcquire()) {
+            Runnable siguiente = EN_ESPERA.poll();
+            if (siguiente != null) {
+                siguiente.run();
+                continue;
+            }
+            PERMISOS.release();
+            // Otra peticion pudo encolarse despues del poll sin conseguir permiso: se revisa de nuevo
+            if (EN_ESPERA.isEmpty()) {
+                return;
+            }
+        }
+    }
+
+    // Se llama con un permiso tomado; lo devuelve al terminar y despacha la siguiente
+    private void enviarAsync(HttpRequest peticion, CompletableFuture<String> resultado) {
+        Timer.Sample muestra = Timer.start();
+        CompletableFuture<HttpResponse<String>> envio;
+        try {
+            envio = CLIENTE.sendAsync(peticion, HttpResponse.BodyHandlers.ofString());
+        } catch (RuntimeException e) {
+            PERMISOS.release();
+            resultado.completeExceptionally(e);
+            despachar();
+            return;
+        }
+        envio.whenComplete((respuesta, error) -> {
+            PERMISOS.release();
+            registrarMetricas(muestra, "asincrona", respuesta);
+            if (error != null) {
+                resultado.completeExceptionally(new RuntimeException(
+                        "No se pudo conectar al servidor de libros. Verifique su conexion a Internet.", error));
+            } else {
+                try {
+                    resultado.complete(validarRespuesta(respuesta));
+                } catch (RuntimeException e) {
+                    resultado.completeExceptionally(e);
+                }
+            }
+            despachar();
+        });
+    }
+
+    private <T> HttpResponse<T> enviar(HttpRequest peticion, HttpResponse.BodyHandler<T> lector, String tipo)
+            throws IOException, InterruptedException {
+        Timer.Sample muestra = Timer.start();
+        HttpResponse<T> response = null;
+        try {
+            response = CLIENTE.send(peticion, lector);
+            return response;
+        } finally {
+            registrarMetricas(muestra, tipo, response);
+        }
+    }
+
+    // Latencia por tipo de consulta y codigo de estado, y tamano de la respuesta en bytes cuando se conoce
+    private void registrarMetricas(Timer.Sample muestra, String tipo, HttpResponse<?> response) {
+        muestra.stop(Timer.builder("gutendex.http.latencia")
+                .description("Tiempo de respuesta de Gutendex")
+                .tag("tipo", tipo)
+                .tag("estado", response != null ? String.valueOf(response.statusCode()) : "error")
+                .register(Metrics.globalRegistry));
+
+        if (response != null) {
+            long bytes = response.headers().firstValueAsLong("Content-Length")
+                    .orElse(response.body() instanceof String cuerpo ? cuerpo.getBytes(StandardCharsets.UTF_8).length : -1);
+            if (bytes >= 0) {
+                DistributionSummary.builder("gutendex.http.bytes")
+                        .description("Tamano de las respuestas de Gutendex")
+                        .baseUnit("bytes")
+                        .tag("tipo", tipo)
+                        .register(Metrics.globalRegistry)
+                        .record(bytes);
+            }
+        }
+    }
+
+    private HttpRequest.Builder crearPeticion(String url) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("User-Agent", "LiteraluraApp/1.0");
+    }
+
+    private String validarRespuesta(HttpResponse<String> response) {
+        if (response.statusCode() == 200) {
+            return response.body();
+        } else {
+            throw new ErrorGutendex(response);
+        }
+    }
 }
@@ -0,0 +1,66 @@
+package com.example.literalura_challenge.service;
+
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * ConsumoAPI con cache de respuestas. Las entradas vigentes se devuelven sin
+ * ir a la red; las vencidas se revalidan con una consulta condicional.
+ */
+public class ConsumoAPICacheado extends ConsumoAPI {
+    private final CacheRespuestas cache;
+
+    public ConsumoAPICacheado(CacheRespuestas cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public String obtenerDatos(String url) {
+        String clave = normalizarUrl(url);
+        CacheRespuestas.Entrada guardada = cache.obtener(clave);
+
+        if (guardada != null && cache.estaVigente(guardada)) {
+            cache.registrarAcierto();
+            return guardada.cuerpo();
+        }
+        cache.registrarFallo();
+
+        HttpResponse<String> respuesta = guardada != null
+                ? obtenerRespuesta(url, guardada.etag(), guardada.ultimaModificacion())
+                : obtenerRespuesta(url, null, null);
+
+        String cuerpo = respuesta.statusCode() == 304 ? guardada.cuerpo() : respuesta.body();
+        cache.guardar(clave, new CacheRespuestas.Entrada(cuerpo,
+                respuesta.headers().firstValue("ETag").orElse(guardada != null ? guardada.etag() : null),
+                respuesta.headers().firstValue("Last-Modified").orElse(guardada != null ? guardada.ultimaModificacion() : null),
+                System.currentTimeMillis()));
+        return cuerpo;
+    }
+
+    public CacheRespuestas getCache() {
+        return cache;
+    }
+
+    /**
+     * Misma clave para consultas equivalentes: sin distinguir mayusculas,
+     * con "+" y "%20" como espacio y los parametros en orden alfabetico.
+     */
+    static String normalizarUrl(String url) {
+        URI uri = URI.create(url.trim());
+        String consulta = "";
+        if (uri.getRawQuery() != null) {
+            consulta = Arrays.stream(uri.getRawQuery().split("&"))
+                    .filter(parametro -> !parametro.isBlank())
+                    .map(parametro -> parametro.replace("+", "%20").toLowerCase(Locale.ROOT))
+                    .sorted()
+                    .collect(Collectors.joining("&", "?", ""));
+        }
+        return uri.getScheme().toLowerCase(Locale.ROOT) + "://"
+                + uri.getRawAuthority().toLowerCase(Locale.ROOT)
+                + (uri.getRawPath() != null ? uri.getRawPath() : "")
+                + consulta;
+    }
+}
@@ -1,17 +1,89 @@
 package com.example.literalura_challenge.service;
 
+import com.example.literalura_challenge.model.DatosLibro;
+import com.example.literalura_challenge.model.DatosRespuesta;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
 
 public class ConvierteDatos implements IConvierteDatos {
-    private ObjectMapper objectMapper = new ObjectMapper();
+    // ObjectMapper y ObjectReader son seguros entre hilos: se configuran una sola vez
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ObjectReader LECTOR_LIBRO = OBJECT_MAPPER.readerFor(DatosLibro.class);
 
     @Override
     public <T> T obtenerDatos(String json, Class<T> clase) {
+        Timer.Sample muestra = Timer.start();
         try {
-            return objectMapper.readValue(json, clase);
+            return OBJECT_MAPPER.readValue(json, clase);
         } catch (JsonProcessingException e) {
             throw new RuntimeException(e);
+        } finally {
+            registrarTiempo(muestra, "texto");
+        }
+    }
+
+    @Override
+    public <T> T obtenerDatos(InputStream json, Class<T> clase) {
+        Timer.Sample muestra = Timer.start();
+        try (json) {
+            return OBJECT_MAPPER.readValue(json, clase);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            registrarTiempo(muestra, "flujo");
+        }
+    }
+
+    @Override
+    public DatosRespuesta recorrerLibros(InputStream json, Consumer<DatosLibro> consumidor) {
+        // El tiempo incluye la espera de los bytes que todavia llegan por la red
+        Timer.Sample muestra = Timer.start();
+        Integer total = null;
+        String siguiente = null;
+
+        try (json; JsonParser parser = OBJECT_MAPPER.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new RuntimeException("La respuesta del servidor de libros no es valida");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String campo = parser.currentName();
+                JsonToken valor = parser.nextToken();
+                switch (campo) {
+                    case "count" -> total = valor == JsonToken.VALUE_NUMBER_INT ? parser.getIntValue() : null;
+                    case "next" -> siguiente = valor == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    case "results" -> {
+                        if (valor == JsonToken.START_ARRAY) {
+                            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                                consumidor.accept(LECTOR_LIBRO.readValue(parser));
+                            }
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            registrarTiempo(muestra, "recorrido");
         }
+        return new DatosRespuesta(total, siguiente, null);
+    }
+
+    private void registrarTiempo(Timer.Sample muestra, String tipo) {
+        muestra.stop(Timer.builder("gutendex.json.conversion")
+                .description("Tiempo de conversion de JSON a objetos")
+                .tag("tipo", tipo)
+                .register(Metrics.globalRegistry));
     }
 }
@@ -0,0 +1,472 @@
+package com.example.literalura_challenge.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Copia completa de la biblioteca (idiomas, autores, libros y sus relaciones)
+ * en un archivo binario comprimido, para moverla a otra base o recuperarla sin
+ * volver a recorrer Gutendex.
+ * <p>
+ * Cada tabla se guarda en bloques de hasta {@value #FILAS_POR_BLOQUE} filas y
+ * cada bloque por columnas: los enteros como diferencia con la fila anterior
+ * (numeros chicos, casi siempre un byte), los decimales como double y los
+ * textos en UTF. Todo el archivo va comprimido con GZIP. Se escribe y se lee
+ * de a bloques por un FileChannel, con memoria constante, y la restauracion
+ * inserta cada bloque en un solo lote JDBC.
+ */
+@Service
+public class CopiaBiblioteca {
+    private static final int MARCA = 0x4C495442; // "LITB"
+    private static final int VERSION = 1;
+    static final int FILAS_POR_BLOQUE = 8192;
+    private static final int TAMANO_BUFFER = 64 * 1024;
+
+    private enum Tipo { ENTERO, DECIMAL, TEXTO }
+
+    private record Columna(String nombre, Tipo tipo) {
+    }
+
+    // Orden de escritura y de restauracion: cada tabla despues de las que referencia
+    private record Tabla(String nombre, String orden, List<Columna> columnas) {
+        String consulta() {
+            return "SELECT " + String.join(", ", columnas.stream().map(Columna::nombre).toList())
+                    + " FROM " + nombre + " ORDER BY " + orden;
+        }
+
+        String insercion() {
+            return "INSERT INTO " + nombre + " (" + String.join(", ", columnas.stream().map(Columna::nombre).toList())
+                    + ") VALUES (" + String.join(", ", columnas.stream().map(columna -> "?").toList()) + ")";
+        }
+    }
+
+    private static final List<Tabla> TABLAS = List.of(
+            new Tabla("idiomas", "id", List.of(
+                    new Columna("id", Tipo.ENTERO), new Columna("codigo", Tipo.TEXTO))),
+            new Tabla("autores", "id", List.of(
+                    new Columna("id", Tipo.ENTERO), new Columna("nombre", Tipo.TEXTO),
+                    new Columna("fecha_de_nacimiento", Tipo.ENTERO), new Columna("fecha_de_fallecimiento", Tipo.ENTERO))),
+            new Tabla("libros", "id", List.of(
+                    new Columna("id", Tipo.ENTERO), new Columna("titulo", Tipo.TEXTO),
+                    new Columna("numero_de_descargas", Tipo.DECIMAL))),
+            new Tabla("libro_autores", "libro_id, orden", List.of(
+                    new Columna("libro_id", Tipo.ENTERO), new Columna("autor_id", Tipo.ENTERO),
+                    new Columna("orden", Tipo.ENTERO))),
+            new Tabla("libro_idiomas", "libro_id, orden", List.of(
+                    new Columna("libro_id", Tipo.ENTERO), new Columna("idioma_id", Tipo.ENTERO),
+                    new Columna("orden", Tipo.ENTERO))));
+
+    // Filas por tabla, en el orden del archivo
+    public record Resumen(Map<String, Long> filas, long bytes) {
+        @Override
+        public String toString() {
+            StringBuilder texto = new StringBuilder();
+            filas.forEach((tabla, cantidad) -> texto.append(tabla).append(": ").append(cantidad).append(" | "));
+            return texto.append(bytes / 1024).append(" KB").toString();
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ConsultasCatalogo consultasCatalogo;
+
+    // Con create-drop las tablas empiezan vacias y se borran al salir: la copia no tendria sentido
+    @Value("${spring.jpa.hibernate.ddl-auto:none}")
+    private String ddlAuto;
+
+    /**
+     * Escribe toda la biblioteca en el archivo. Las tablas se leen en una sola
+     * transaccion (repeatable read) para que la copia sea consistente aunque la
+     * aplicacion siga guardando libros.
+     */
+    public Resumen exportar(Path archivo) {
+        exigirBaseConservada();
+        var lectura = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        lectura.setReadOnly(true);
+        lectura.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        // Sin fetch size PostgreSQL entrega todas las filas de una vez
+        var lector = new JdbcTemplate(jdbcTemplate.getDataSource());
+        lector.setFetchSize(FILAS_POR_BLOQUE);
+
+        Path temporal = null;
+        try {
+            Path directorio = archivo.toAbsolutePath().getParent();
+            Files.createDirectories(directorio);
+            temporal = Files.createTempFile(directorio, "biblioteca", ".tmp");
+            Map<String, Long> filas = new LinkedHashMap<>();
+            // Al cerrar, salida libera el Deflater del GZIP y cierra el canal (despues de force)
+            try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                 var comprimido = new GZIPOutputStream(Channels.newOutputStream(canal), TAMANO_BUFFER);
+                 var salida = new DataOutputStream(new BufferedOutputStream(comprimido, TAMANO_BUFFER))) {
+                salida.writeInt(MARCA);
+                salida.writeInt(VERSION);
+                salida.writeLong(System.currentTimeMillis());
+                lectura.executeWithoutResult(estado -> {
+                    for (Tabla tabla : TABLAS) {
+                        filas.put(tabla.nombre(), exportarTabla(lector, tabla, salida));
+                    }
+                });
+                // Se termina el GZIP sin cerrar el canal: cerrarlo antes de force fallaria
+                salida.flush();
+                comprimido.finish();
+                canal.force(true);
+            }
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return new Resumen(filas, Files.size(archivo));
+        } catch (IOException | UncheckedIOException e) {
+            if (temporal != null) {
+                temporal.toFile().delete();
+            }
+            throw new RuntimeException("No se pudo guardar la copia de la biblioteca: " + archivo, e);
+        }
+    }
+
+    /**
+     * Carga una copia en una biblioteca vacia. Las filas se insertan en una sola
+     * transaccion: si algo falla no queda ninguna. Despues, en un paso aparte, las
+     * secuencias de ids siguen desde el id mas alto restaurado; va fuera de la
+     * transaccion porque en H2 los ALTER SEQUENCE/TABLE confirman por su cuenta.
+     */
+    public Resumen restaurar(Path archivo) {
+        exigirBaseConservada();
+        Map<String, Long> filas = new LinkedHashMap<>();
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ);
+             var entrada = new DataInputStream(new BufferedInputStream(
+                     new GZIPInputStream(Channels.newInputStream(canal), TAMANO_BUFFER), TAMANO_BUFFER))) {
+            if (entrada.readInt() != MARCA || entrada.readInt() != VERSION) {
+                throw new RuntimeException("El archivo no es una copia valida de la biblioteca: " + archivo);
+            }
+            entrada.readLong(); // momento de la copia
+
+            transactionTemplate.executeWithoutResult(estado -> {
+                for (Tabla tabla : TABLAS) {
+                    if (!jdbcTemplate.queryForList("SELECT 1 FROM " + tabla.nombre() + " LIMIT 1").isEmpty()) {
+                        throw new RuntimeException("La biblioteca debe estar vacia para restaurar una copia (la tabla "
+                                + tabla.nombre() + " tiene datos).");
+                    }
+                }
+                for (Tabla tabla : TABLAS) {
+                    filas.put(tabla.nombre(), restaurarTabla(tabla, entrada));
+                }
+            });
+            try {
+                continuarIds();
+            } catch (RuntimeException e) {
+                throw new RuntimeException("La copia se restauro, pero no se pudieron ajustar las secuencias de ids:"
+                        + " los libros nuevos podrian chocar con los restaurados.", e);
+            }
+            consultasCatalogo.recargar();
+            return new Resumen(filas, Files.size(archivo));
+        } catch (IOException | UncheckedIOException e) {
+            throw new RuntimeException("No se pudo leer la copia de la biblioteca: " + archivo, e);
+        }
+    }
+
+    private void exigirBaseConservada() {
+        if (!ddlAuto.equals("validate") && !ddlAuto.equals("none")) {
+            throw new RuntimeException("La copia de la biblioteca necesita una base que se conserve entre ejecuciones"
+                    + " (spring.jpa.hibernate.ddl-auto=validate o none, no " + ddlAuto + ")."
+                    + " Use --spring.profiles.active=rapido o embebido.");
+        }
+    }
+
+    private long exportarTabla(JdbcTemplate lector, Tabla tabla, DataOutputStream salida) {
+        var bloque = new Bloque(tabla.columnas());
+        long[] total = {0};
+        try {
+            salida.writeUTF(tabla.nombre());
+            salida.writeByte(tabla.columnas().size());
+            lector.query(tabla.consulta(), fila -> {
+                bloque.agregar(fila);
+                if (bloque.filas == FILAS_POR_BLOQUE) {
+                    total[0] += bloque.escribir(salida);
+                }
+            });
+            total[0] += bloque.escribir(salida);
+            // Un bloque vacio cierra la tabla
+            salida.writeInt(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return total[0];
+    }
+
+    private long restaurarTabla(Tabla tabla, DataInputStream entrada) {
+        try {
+            String nombre = entrada.readUTF();
+            int columnas = entrada.readUnsignedByte();
+            if (!nombre.equals(tabla.nombre()) || columnas != tabla.columnas().size()) {
+                throw new RuntimeException("La copia no coincide con las tablas de esta version (" + nombre + ").");
+            }
+            int[] tipos = tabla.columnas().stream().mapToInt(columna -> switch (columna.tipo()) {
+                case ENTERO -> Types.BIGINT;
+                case DECIMAL -> Types.DOUBLE;
+                case TEXTO -> Types.VARCHAR;
+            }).toArray();
+            String insercion = tabla.insercion();
+            var bloque = new Bloque(tabla.columnas());
+            long total = 0;
+            while (bloque.leer(entrada)) {
+                jdbcTemplate.batchUpdate(insercion, bloque.comoFilas(), tipos);
+                total += bloque.filas;
+            }
+            return total;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Los proximos ids empiezan despues del mas alto restaurado (ver Libro.IDS_POR_RESERVA)
+    private void continuarIds() {
+        long libros = maximoId("libros");
+        long autores = maximoId("autores");
+        long idiomas = maximoId("idiomas");
+        jdbcTemplate.execute("ALTER SEQUENCE libros_seq RESTART WITH " + (libros + 50));
+        jdbcTemplate.execute("ALTER SEQUENCE autores_seq RESTART WITH " + (autores + 50));
+        jdbcTemplate.execute("ALTER TABLE idiomas ALTER COLUMN id RESTART WITH " + (idiomas + 1));
+    }
+
+    private long maximoId(String tabla) {
+        Long maximo = jdbcTemplate.queryForObject("SELECT max(id) FROM " + tabla, Long.class);
+        return maximo != null ? maximo : 0;
+    }
+
+    /**
+     * Un bloque de filas guardado por columnas. Los enteros pueden ser null
+     * (se marca aparte) y se escriben como diferencia con la fila anterior.
+     */
+    private static final class Bloque {
+        private final List<Columna> columnas;
+        private final long[][] enteros;
+        private final boolean[][] nulos;
+        private final double[][] decimales;
+        private final String[][] textos;
+        private int filas;
+
+        Bloque(List<Columna> columnas) {
+            this.columnas = columnas;
+            int cantidad = columnas.size();
+            enteros = new long[cantidad][];
+            nulos = new boolean[cantidad][];
+            decimales = new double[cantidad][];
+            textos = new String[cantidad][];
+            for (int c = 0; c < cantidad; c++) {
+                switch (columnas.get(c).tipo()) {
+                    case ENTERO -> {
+                        enteros[c] = new long[FILAS_POR_BLOQUE];
+                        nulos[c] = new boolean[FILAS_POR_BLOQUE];
+                    }
+                    case DECIMAL -> decimales[c] = new double[FILAS_POR_BLOQUE];
+                    case TEXTO -> textos[c] = new String[FILAS_POR_BLOQUE];
+                }
+            }
+        }
+
+        void agregar(ResultSet fila) throws SQLException {
+            for (int c = 0; c < columnas.size(); c++) {
+                switch (columnas.get(c).tipo()) {
+                    case ENTERO -> {
+                        enteros[c][filas] = fila.getLong(c + 1);
+                        nulos[c][filas] = fila.wasNull();
+                    }
+                    case DECIMAL -> {
+                        double valor = fila.getDouble(c + 1);
+                        decimales[c][filas] = fila.wasNull() ? Double.NaN : valor;
+                    }
+                    case TEXTO -> textos[c][filas] = fila.getString(c + 1);
+                }
+            }
+            filas++;
+        }
+
+        // Escribe las filas acumuladas y vacia el bloque; devuelve cuantas escribio
+        int escribir(DataOutputStream salida) {
+            int escritas = filas;
+            if (escritas == 0) {
+                return 0;
+            }
+            try {
+                salida.writeInt(escritas);
+                for (int c = 0; c < columnas.size(); c++) {
+                    switch (columnas.get(c).tipo()) {
+                        case ENTERO -> {
+                            escribirNulos(salida, nulos[c], escritas);
+                            long anterior = 0;
+                            for (int f = 0; f < escritas; f++) {
+                                if (!nulos[c][f]) {
+                                    escribirVariable(salida, enteros[c][f] - anterior);
+                                    anterior = enteros[c][f];
+                                }
+                            }
+                        }
+                        case DECIMAL -> {
+                            for (int f = 0; f < escritas; f++) {
+                                salida.writeDouble(decimales[c][f]);
+                            }
+                        }
+                        case TEXTO -> {
+                            escribirNulos(salida, textos[c], escritas);
+                            // writeUTF admite hasta 65535 bytes: alcanza para titulo (varchar 1000) y nombre
+                            for (int f = 0; f < escritas; f++) {
+                                if (textos[c][f] != null) {
+                                    salida.writeUTF(textos[c][f]);
+                                }
+                            }
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            filas = 0;
+            return escritas;
+        }
+
+        // Lee el proximo bloque; false al llegar al final de la tabla
+        boolean leer(DataInputStream entrada) throws IOException {
+            filas = entrada.readInt();
+            if (filas == 0) {
+                return false;
+            }
+            if (filas < 0 || filas > FILAS_POR_BLOQUE) {
+                throw new IOException("Bloque con una cantidad de filas invalida: " + filas);
+            }
+            for (int c = 0; c < columnas.size(); c++) {
+                switch (columnas.get(c).tipo()) {
+                    case ENTERO -> {
+                        leerNulos(entrada, nulos[c], filas);
+                        long anterior = 0;
+                        for (int f = 0; f < filas; f++) {
+                            if (!nulos[c][f]) {
+                                anterior += leerVariable(entrada);
+                                enteros[c][f] = anterior;
+                            }
+                        }
+                    }
+                    case DECIMAL -> {
+                        for (int f = 0; f < filas; f++) {
+                            decimales[c][f] = entrada.readDouble();
+                        }
+                    }
+                    case TEXTO -> {
+                        boolean[] sinTexto = new boolean[filas];
+                        leerNulos(entrada, sinTexto, filas);
+                        for (int f = 0; f < filas; f++) {
+                            textos[c][f] = sinTexto[f] ? null : entrada.readUTF();
+                        }
+                    }
+                }
+            }
+            return true;
+        }
+
+        List<Object[]> comoFilas() {
+            List<Object[]> resultado = new ArrayList<>(filas);
+            for (int f = 0; f < filas; f++) {
+                Object[] fila = new Object[columnas.size()];
+                for (int c = 0; c < columnas.size(); c++) {
+                    fila[c] = switch (columnas.get(c).tipo()) {
+                        case ENTERO -> nulos[c][f] ? null : enteros[c][f];
+                        case DECIMAL -> Double.isNaN(decimales[c][f]) ? null : decimales[c][f];
+                        case TEXTO -> textos[c][f];
+                    };
+                }
+                resultado.add(fila);
+            }
+            return resultado;
+        }
+
+        // Un bit por fila, solo si la columna tiene algun null
+        private static void escribirNulos(DataOutputStream salida, boolean[] nulos, int filas) throws IOException {
+            boolean alguno = false;
+            for (int f = 0; f < filas && !alguno; f++) {
+                alguno = nulos[f];
+            }
+            salida.writeBoolean(alguno);
+            if (alguno) {
+                for (int f = 0; f < filas; f += 8) {
+                    int octeto = 0;
+                    for (int b = 0; b < 8 && f + b < filas; b++) {
+                        octeto |= nulos[f + b] ? 1 << b : 0;
+                    }
+                    salida.writeByte(octeto);
+                }
+            }
+        }
+
+        private static void escribirNulos(DataOutputStream salida, String[] textos, int filas) throws IOException {
+            boolean[] nulos = new boolean[filas];
+            for (int f = 0; f < filas; f++) {
+                nulos[f] = textos[f] == null;
+            }
+            escribirNulos(salida, nulos, filas);
+        }
+
+        private static void leerNulos(DataInputStream entrada, boolean[] nulos, int filas) throws IOException {
+            if (!entrada.readBoolean()) {
+                Arrays.fill(nulos, 0, filas, false);
+                return;
+            }
+            for (int f = 0; f < filas; f += 8) {
+                int octeto = entrada.readUnsignedByte();
+                for (int b = 0; b < 8 && f + b < filas; b++) {
+                    nulos[f + b] = (octeto & (1 << b)) != 0;
+                }
+            }
+        }
+
+        // Entero de largo variable (7 bits por byte), con el signo en el bit mas bajo
+        private static void escribirVariable(DataOutputStream salida, long valor) throws IOException {
+            long resto = (valor << 1) ^ (valor >> 63);
+            while ((resto & ~0x7FL) != 0) {
+                salida.writeByte((int) ((resto & 0x7F) | 0x80));
+                resto >>>= 7;
+            }
+            salida.writeByte((int) resto);
+        }
+
+        private static long leerVariable(DataInputStream entrada) throws IOException {
+            long resto = 0;
+            for (int desplazamiento = 0; desplazamiento < 64; desplazamiento += 7) {
+                int octeto = entrada.readUnsignedByte();
+                resto |= (long) (octeto & 0x7F) << desplazamiento;
+                if ((octeto & 0x80) == 0) {
+                    return (resto >>> 1) ^ -(resto & 1);
+                }
+            }
+            throw new IOException("Entero variable demasiado largo");
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.literalura_challenge.service;
+
+import java.net.http.HttpResponse;
+
+/**
+ * Respuesta de Gutendex con un codigo de estado inesperado. Conserva el codigo
+ * y el encabezado Retry-After para decidir si conviene reintentar.
+ */
+public class ErrorGutendex extends RuntimeException {
+    private final int estado;
+    private final long reintentarEnSegundos;
+
+    public ErrorGutendex(HttpResponse<?> respuesta) {
+        super("Error en la conexion con el servidor de libros");
+        this.estado = respuesta.statusCode();
+        this.reintentarEnSegundos = respuesta.headers().firstValue("Retry-After")
+                .filter(valor -> valor.trim().matches("[0-9]+"))
+                .map(valor -> Long.parseLong(valor.trim()))
+                .orElse(-1L);
+    }
+
+    public int getEstado() {
+        return estado;
+    }
+
+    // Segundos que pidio esperar el servidor, o -1 si no lo indico
+    public long getReintentarEnSegundos() {
+        return reintentarEnSegundos;
+    }
+
+    // Demasiadas consultas (429) o falla temporal del servidor (5xx)
+    public boolean esReintentable() {
+        return estado == 429 || estado >= 500;
+    }
+}
@@ -0,0 +1,290 @@
+package com.example.literalura_challenge.service;
+
+import com.example.literalura_challenge.model.DatosAutor;
+import com.example.literalura_challenge.model.DatosLibro;
+import com.example.literalura_challenge.model.DatosRespuesta;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Copia local del catalogo de Gutendex en un archivo binario comprimido.
+ * La primera sincronizacion recorre todo el catalogo y guarda el archivo cada
+ * tantas paginas, junto con la pagina siguiente: si se corta, la proxima sigue desde
+ * ahi. Las siguientes solo piden los libros con id mayor al ultimo guardado (los
+ * mas nuevos). Con el espejo
+ * disponible, las busquedas por titulo se resuelven en memoria sin usar la red,
+ * con los titulos normalizados una sola vez al cargar.
+ */
+public class EspejoCatalogo {
+    private static final int MARCA = 0x4C495445; // "LITE"
+    // La version 2 agrega la pagina pendiente de un recorrido completo sin terminar
+    private static final int VERSION = 2;
+    private static final int SIN_ANO = Integer.MIN_VALUE;
+    private static final int MAX_INTENTOS = 3;
+    private static final int PAGINAS_POR_GUARDADO = 50;
+
+    // Libros ordenados por descargas (como las busquedas de Gutendex) y sus titulos ya normalizados.
+    // pendiente es la pagina donde sigue un recorrido completo interrumpido, o null
+    private record Contenido(List<DatosLibro> libros, String[] titulos, String[][] palabras, long ultimoId,
+                             String pendiente) {
+    }
+
+    private final Path archivo;
+    private final String urlBase;
+    private final ConsumoAPI consumoApi;
+    private final int paginasPorGuardado;
+    private final ConvierteDatos conversor = new ConvierteDatos();
+    private volatile Contenido contenido;
+
+    // Sin archivo (null) el espejo queda deshabilitado
+    public EspejoCatalogo(Path archivo, String urlBase, ConsumoAPI consumoApi) {
+        this(archivo, urlBase, consumoApi, PAGINAS_POR_GUARDADO);
+    }
+
+    EspejoCatalogo(Path archivo, String urlBase, ConsumoAPI consumoApi, int paginasPorGuardado) {
+        this.archivo = archivo;
+        this.urlBase = urlBase;
+        this.consumoApi = consumoApi;
+        this.paginasPorGuardado = paginasPorGuardado;
+    }
+
+    public boolean estaDisponible() {
+        if (archivo == null || (contenido == null && !Files.exists(archivo))) {
+            return false;
+        }
+        // Un recorrido completo a medias no sirve para buscar: le faltan libros
+        return cargar().pendiente() == null;
+    }
+
+    // El libro con mejor puntaje segun RankingTitulos, igual que la busqueda en Gutendex
+    public Optional<DatosLibro> buscar(String titulo) {
+        var ranking = new RankingTitulos(titulo);
+        Contenido actual = cargar();
+        DatosLibro mejor = null;
+        double mejorPuntaje = 0;
+        for (int i = 0; i < actual.titulos().length; i++) {
+            double relevancia = ranking.relevancia(actual.titulos()[i], actual.palabras()[i]);
+            if (relevancia < RankingTitulos.RELEVANCIA_MINIMA) {
+                continue;
+            }
+            DatosLibro libro = actual.libros().get(i);
+            if (relevancia == 1) {
+                // Titulo identico: los siguientes tienen menos descargas y no lo pueden superar
+                return Optional.of(libro);
+            }
+            double puntaje = ranking.puntaje(relevancia, libro.numeroDeDescargas());
+            if (puntaje > mejorPuntaje) {
+                mejor = libro;
+                mejorPuntaje = puntaje;
+            }
+        }
+        return Optional.ofNullable(mejor);
+    }
+
+    public int getCantidad() {
+        return cargar().libros().size();
+    }
+
+    public long getUltimoId() {
+        return cargar().ultimoId();
+    }
+
+    /**
+     * Trae de Gutendex los libros que faltan y guarda el archivo.
+     * Devuelve la cantidad de libros nuevos.
+     */
+    public synchronized int sincronizar() {
+        if (archivo == null) {
+            throw new IllegalStateException("No hay un archivo configurado para el espejo del catalogo");
+        }
+        Contenido actual = cargar();
+        // Recorrido completo por id ascendente, o los mas nuevos primero con sort=descending
+        boolean completo = actual.libros().isEmpty() || actual.pendiente() != null;
+        String url = actual.pendiente() != null ? actual.pendiente()
+                : urlBase + (completo ? "?sort=ascending" : "?sort=descending");
+        List<DatosLibro> todos = new ArrayList<>(actual.libros());
+        int nuevos = 0;
+        int paginas = 0;
+
+        while (url != null) {
+            List<DatosLibro> pagina = new ArrayList<>();
+            var paginacion = descargarPagina(url, pagina);
+            url = paginacion.siguiente();
+
+            for (DatosLibro libro : pagina) {
+                if (libro.id() == null || libro.titulo() == null) {
+                    continue;
+                }
+                if (libro.id() > actual.ultimoId()) {
+                    todos.add(libro);
+                    nuevos++;
+                } else if (!completo) {
+                    // Los siguientes son todos anteriores: ya estan en el espejo
+                    url = null;
+                }
+            }
+            if (++paginas % 10 == 0) {
+                System.out.printf("Paginas: %d | Libros nuevos: %d%s%n", paginas, nuevos,
+                        paginacion.total() != null ? " de " + paginacion.total() : "");
+            }
+            // Lo descargado hasta aca queda guardado con la pagina siguiente, para retomar si se corta
+            if (completo && url != null && paginas % paginasPorGuardado == 0) {
+                guardar(todos, url);
+            }
+        }
+
+        if (nuevos > 0 || actual.pendiente() != null) {
+            guardar(todos, null);
+        }
+        return nuevos;
+    }
+
+    private void guardar(List<DatosLibro> libros, String pendiente) {
+        Contenido guardado = indexar(libros, pendiente);
+        escribir(guardado);
+        contenido = guardado;
+    }
+
+    private DatosRespuesta descargarPagina(String url, List<DatosLibro> libros) {
+        RuntimeException ultimoError = null;
+        for (int intento = 1; intento <= MAX_INTENTOS; intento++) {
+            try {
+                libros.clear();
+                return conversor.recorrerLibros(consumoApi.obtenerFlujo(url), libros::add);
+            } catch (RuntimeException e) {
+                ultimoError = e;
+                if (intento < MAX_INTENTOS) {
+                    esperar(2000L * intento);
+                }
+            }
+        }
+        throw ultimoError;
+    }
+
+    private Contenido cargar() {
+        Contenido actual = contenido;
+        if (actual == null) {
+            synchronized (this) {
+                actual = contenido;
+                if (actual == null) {
+                    actual = archivo != null && Files.exists(archivo) ? leer() : indexar(List.of(), null);
+                    contenido = actual;
+                }
+            }
+        }
+        return actual;
+    }
+
+    private static Contenido indexar(List<DatosLibro> libros, String pendiente) {
+        List<DatosLibro> ordenados = new ArrayList<>(libros);
+        ordenados.sort(Comparator.comparingDouble((DatosLibro libro) ->
+                libro.numeroDeDescargas() != null ? libro.numeroDeDescargas() : 0).reversed());
+        String[] titulos = new String[ordenados.size()];
+        String[][] palabras = new String[ordenados.size()][];
+        long ultimoId = 0;
+        for (int i = 0; i < titulos.length; i++) {
+            titulos[i] = RankingTitulos.normalizar(ordenados.get(i).titulo());
+            palabras[i] = RankingTitulos.palabras(titulos[i]);
+            ultimoId = Math.max(ultimoId, ordenados.get(i).id());
+        }
+        return new Contenido(List.copyOf(ordenados), titulos, palabras, ultimoId, pendiente);
+    }
+
+    private Contenido leer() {
+        try (DataInputStream datos = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(archivo))))) {
+            int version = datos.readInt() == MARCA ? datos.readInt() : -1;
+            if (version != 1 && version != VERSION) {
+                throw new RuntimeException("El archivo del espejo no es valido: " + archivo);
+            }
+            String pendiente = version >= 2 ? datos.readUTF() : "";
+            int cantidad = datos.readInt();
+            List<DatosLibro> libros = new ArrayList<>(cantidad);
+            for (int i = 0; i < cantidad; i++) {
+                long id = datos.readLong();
+                String titulo = datos.readUTF();
+                double descargas = datos.readDouble();
+
+                List<String> idiomas = new ArrayList<>();
+                for (int j = datos.readUnsignedByte(); j > 0; j--) {
+                    idiomas.add(datos.readUTF());
+                }
+                List<DatosAutor> autores = new ArrayList<>();
+                for (int j = datos.readUnsignedByte(); j > 0; j--) {
+                    autores.add(new DatosAutor(datos.readUTF(), ano(datos.readInt()), ano(datos.readInt())));
+                }
+                libros.add(new DatosLibro(id, titulo, autores, idiomas, Double.isNaN(descargas) ? null : descargas));
+            }
+            return indexar(libros, pendiente.isEmpty() ? null : pendiente);
+        } catch (IOException e) {
+            throw new RuntimeException("No se pudo leer el espejo del catalogo: " + archivo, e);
+        }
+    }
+
+    // Se escribe en un archivo temporal y se reemplaza el anterior de una vez
+    private void escribir(Contenido datosEspejo) {
+        Path temporal = null;
+        try {
+            Path directorio = archivo.toAbsolutePath().getParent();
+            Files.createDirectories(directorio);
+            temporal = Files.createTempFile(directorio, "espejo", ".tmp");
+            try (DataOutputStream datos = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(temporal))))) {
+                datos.writeInt(MARCA);
+                datos.writeInt(VERSION);
+                datos.writeUTF(datosEspejo.pendiente() != null ? datosEspejo.pendiente() : "");
+                datos.writeInt(datosEspejo.libros().size());
+                for (DatosLibro libro : datosEspejo.libros()) {
+                    datos.writeLong(libro.id());
+                    datos.writeUTF(libro.titulo());
+                    datos.writeDouble(libro.numeroDeDescargas() != null ? libro.numeroDeDescargas() : Double.NaN);
+
+                    List<String> idiomas = libro.idiomas() != null ? libro.idiomas() : List.of();
+                    datos.writeByte(Math.min(idiomas.size(), 255));
+                    for (String idioma : idiomas.subList(0, Math.min(idiomas.size(), 255))) {
+                        datos.writeUTF(idioma);
+                    }
+                    List<DatosAutor> autores = libro.autor() != null ? libro.autor() : List.of();
+                    datos.writeByte(Math.min(autores.size(), 255));
+                    for (DatosAutor autor : autores.subList(0, Math.min(autores.size(), 255))) {
+                        datos.writeUTF(autor.nombre() != null ? autor.nombre() : "");
+                        datos.writeInt(autor.fechaDeNacimiento() != null ? autor.fechaDeNacimiento() : SIN_ANO);
+                        datos.writeInt(autor.fechaDeFallecimiento() != null ? autor.fechaDeFallecimiento() : SIN_ANO);
+                    }
+                }
+            }
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            if (temporal != null) {
+                temporal.toFile().delete();
+            }
+            throw new RuntimeException("No se pudo guardar el espejo del catalogo: " + archivo, e);
+        }
+    }
+
+    private static Integer ano(int valor) {
+        return valor == SIN_ANO ? null : valor;
+    }
+
+    private void esperar(long milisegundos) {
+        try {
+            Thread.sleep(milisegundos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("La sincronizacion fue interrumpida.", e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.literalura_challenge.service;
+
+import com.example.literalura_challenge.model.EstadisticaIdioma;
+import com.example.literalura_challenge.repository.IdiomaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cantidad de libros por idioma. Se carga con una sola consulta agrupada la
+ * primera vez que se pide y despues se actualiza en memoria con cada libro
+ * guardado, asi que las consultas repetidas no van a la base de datos.
+ */
+@Service
+public class EstadisticasIdioma {
+
+    private volatile Map<String, Long> conteos;
+
+    @Autowired
+    private IdiomaRepository idiomaRepository;
+
+    // Ordenadas de mayor a menor cantidad de libros
+    public List<EstadisticaIdioma> porCantidad() {
+        return listar(Comparator.comparingLong(EstadisticaIdioma::cantidad).reversed()
+                .thenComparing(EstadisticaIdioma::idioma));
+    }
+
+    // Ordenadas por codigo de idioma
+    public List<EstadisticaIdioma> porIdioma() {
+        return listar(Comparator.comparing(EstadisticaIdioma::idioma));
+    }
+
+    public synchronized void registrarLibro(String idioma) {
+        if (conteos != null) {
+            conteos.merge(idioma != null ? idioma : "desconocido", 1L, Long::sum);
+        }
+    }
+
+    // Descarta los conteos para que se vuelvan a leer en la proxima consulta
+    public synchronized void invalidar() {
+        conteos = null;
+    }
+
+    private List<EstadisticaIdioma> listar(Comparator<EstadisticaIdioma> orden) {
+        return cargar().entrySet().stream()
+                .map(conteo -> new EstadisticaIdioma(conteo.getKey(), conteo.getValue()))
+                .sorted(orden)
+                .toList();
+    }
+
+    private Map<String, Long> cargar() {
+        Map<String, Long> actuales = conteos;
+        if (actuales == null) {
+            synchronized (this) {
+                actuales = conteos;
+                if (actuales == null) {
+                    actuales = new ConcurrentHashMap<>();
+                    for (EstadisticaIdioma estadistica : idiomaRepository.obtenerEstadisticasPorIdioma()) {
+                        actuales.put(estadistica.idioma(), estadistica.cantidad());
+                    }
+                    conteos = actuales;
+                }
+            }
+        }
+        return actuales;
+    }
+}
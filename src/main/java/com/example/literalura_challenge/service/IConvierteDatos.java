@@ -1,5 +1,20 @@
 package com.example.literalura_challenge.service;
 
+import com.example.literalura_challenge.model.DatosLibro;
+import com.example.literalura_challenge.model.DatosRespuesta;
+
+import java.io.InputStream;
+import java.util.function.Consumer;
+
 public interface IConvierteDatos {
     <T> T obtenerDatos(String json, Class<T> clase);
+
+    <T> T obtenerDatos(InputStream json, Class<T> clase);
+
+    /**
+     * Lee una pagina de Gutendex a medida que llegan los bytes y entrega cada libro
+     * al consumidor apenas se completa. Devuelve los datos de paginacion de la
+     * respuesta, sin la lista de resultados.
+     */
+    DatosRespuesta recorrerLibros(InputStream json, Consumer<DatosLibro> consumidor);
 }
@@ -0,0 +1,222 @@
+package com.example.literalura_challenge.service;
+
+import com.example.literalura_challenge.model.DatosLibro;
+import com.example.literalura_challenge.model.DatosRespuesta;
+import com.example.literalura_challenge.model.Libro;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Importacion masiva del catalogo de Gutendex.
+ * Recorre las paginas siguiendo el enlace "next" y descarga la pagina N+1
+ * mientras guarda la pagina N. Los libros (con ids reservados de libros_seq)
+ * y sus filas en libro_autores y libro_idiomas se insertan en lotes JDBC; autores e idiomas se reutilizan
+ * mediante {@link ResolutorAutores} y {@link ResolutorIdiomas}.
+ */
+@Service
+public class ImportadorCatalogo {
+    private static final int MAX_INTENTOS = 3;
+
+    private static final String SQL_INSERTAR_LIBRO = """
+            INSERT INTO libros (id, titulo, numero_de_descargas)
+            VALUES (?, ?, ?)
+            ON CONFLICT DO NOTHING
+            """;
+    private static final String SQL_INSERTAR_LIBRO_AUTOR = """
+            INSERT INTO libro_autores (libro_id, autor_id, orden)
+            VALUES (?, ?, ?)
+            ON CONFLICT DO NOTHING
+            """;
+    private static final String SQL_INSERTAR_LIBRO_IDIOMA = """
+            INSERT INTO libro_idiomas (libro_id, idioma_id, orden)
+            VALUES (?, ?, ?)
+            ON CONFLICT DO NOTHING
+            """;
+    // Las sentencias sirven tanto en PostgreSQL como en H2 (perfil embebido)
+    private static final String SQL_TITULOS_EXISTENTES = "SELECT titulo FROM libros WHERE titulo IN (:titulos)";
+    private static final String SQL_IDS_EXISTENTES = "SELECT id FROM libros WHERE id IN (:ids)";
+
+    private ConsumoAPI consumoApi = new ConsumoAPI();
+    private ConvierteDatos conversor = new ConvierteDatos();
+
+    @Value("${literalura.gutendex.url:https://gutendex.com/books/}")
+    private String urlBase;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ResolutorAutores resolutorAutores;
+
+    @Autowired
+    private ResolutorIdiomas resolutorIdiomas;
+
+    @Autowired
+    private ConsultasCatalogo consultasCatalogo;
+
+    public void importar() {
+        System.out.println("\nIMPORTACION DEL CATALOGO COMPLETO");
+        System.out.println("=================================");
+
+        long inicio = System.nanoTime();
+        long librosGuardados = 0;
+        int paginas = 0;
+
+        ExecutorService descargas = Executors.newSingleThreadExecutor();
+        try {
+            CompletableFuture<DatosRespuesta> proximaPagina = descargarPagina(urlBase + "?sort=ascending", descargas);
+            while (proximaPagina != null) {
+                DatosRespuesta pagina = proximaPagina.join();
+
+                // Se pide la siguiente pagina antes de guardar la actual
+                proximaPagina = pagina.siguiente() != null
+                        ? descargarPagina(pagina.siguiente(), descargas) : null;
+
+                if (pagina.resultados() != null) {
+                    librosGuardados += guardarPagina(pagina.resultados());
+                }
+                paginas++;
+
+                if (paginas % 10 == 0) {
+                    mostrarProgreso(paginas, librosGuardados, inicio, pagina.total());
+                }
+            }
+        } finally {
+            descargas.shutdownNow();
+        }
+
+        System.out.println("\nImportacion terminada.");
+        mostrarProgreso(paginas, librosGuardados, inicio, null);
+    }
+
+    private CompletableFuture<DatosRespuesta> descargarPagina(String url, ExecutorService descargas) {
+        return CompletableFuture.supplyAsync(() -> {
+            RuntimeException ultimoError = null;
+            for (int intento = 1; intento <= MAX_INTENTOS; intento++) {
+                try {
+                    List<DatosLibro> libros = new ArrayList<>();
+                    var paginacion = conversor.recorrerLibros(consumoApi.obtenerFlujo(url), libros::add);
+                    return new DatosRespuesta(paginacion.total(), paginacion.siguiente(), libros);
+                } catch (RuntimeException e) {
+                    ultimoError = e;
+                    if (intento < MAX_INTENTOS) {
+                        esperar(2000L * intento);
+                    }
+                }
+            }
+            throw ultimoError;
+        }, descargas);
+    }
+
+    private int guardarPagina(List<DatosLibro> resultados) {
+        // Autores e idiomas se resuelven fuera de la transaccion del lote: si el lote falla,
+        // los que quedan en las caches de los resolutores siguen existiendo en la base.
+        // Los autores nuevos de la pagina se crean juntos, asi resolver() los toma de la cache
+        resolutorAutores.resolverPagina(resultados);
+        Map<String, Libro> porTitulo = new LinkedHashMap<>();
+        for (DatosLibro datos : resultados) {
+            if (datos.titulo() != null && !porTitulo.containsKey(datos.titulo())) {
+                porTitulo.put(datos.titulo(), new Libro(datos,
+                        resolutorAutores.resolver(datos), resolutorIdiomas.resolver(datos)));
+            }
+        }
+        if (porTitulo.isEmpty()) {
+            return 0;
+        }
+
+        List<Libro> guardados = transactionTemplate.execute(estado -> {
+            // Solo se insertan los titulos nuevos; ON CONFLICT cubre a otra instancia importando a la vez
+            Set<String> existentes = new HashSet<>(namedJdbcTemplate.queryForList(
+                    SQL_TITULOS_EXISTENTES, Map.of("titulos", porTitulo.keySet()), String.class));
+            List<Libro> libros = porTitulo.values().stream()
+                    .filter(libro -> !existentes.contains(libro.getTitulo()))
+                    .toList();
+            if (libros.isEmpty()) {
+                return List.<Libro>of();
+            }
+
+            // Con los ids reservados antes del INSERT no hace falta volver a leerlos
+            Iterator<Long> ids = ReservaIds.reservar(jdbcTemplate, "libros_seq", Libro.IDS_POR_RESERVA,
+                    libros.size()).iterator();
+            List<Object[]> filas = new ArrayList<>(libros.size());
+            for (Libro libro : libros) {
+                libro.setId(ids.next());
+                filas.add(new Object[]{libro.getId(), libro.getTitulo(), libro.getNumeroDeDescargas()});
+            }
+            int[] resultado = jdbcTemplate.batchUpdate(SQL_INSERTAR_LIBRO, filas,
+                    new int[]{Types.BIGINT, Types.VARCHAR, Types.DOUBLE});
+            List<Libro> insertados = insertados(libros, resultado);
+
+            List<Object[]> filasAutores = new ArrayList<>();
+            List<Object[]> filasIdiomas = new ArrayList<>();
+            for (Libro libro : insertados) {
+                for (int orden = 0; orden < libro.getAutores().size(); orden++) {
+                    filasAutores.add(new Object[]{libro.getId(), libro.getAutores().get(orden).getId(), orden});
+                }
+                for (int orden = 0; orden < libro.getIdiomas().size(); orden++) {
+                    filasIdiomas.add(new Object[]{libro.getId(), libro.getIdiomas().get(orden).getId(), orden});
+                }
+            }
+            jdbcTemplate.batchUpdate(SQL_INSERTAR_LIBRO_AUTOR, filasAutores,
+                    new int[]{Types.BIGINT, Types.BIGINT, Types.INTEGER});
+            jdbcTemplate.batchUpdate(SQL_INSERTAR_LIBRO_IDIOMA, filasIdiomas,
+                    new int[]{Types.BIGINT, Types.INTEGER, Types.INTEGER});
+            return insertados;
+        });
+        if (guardados == null) {
+            return 0;
+        }
+        // Las consultas se actualizan recien con el lote confirmado, como en BusquedaLote
+        guardados.forEach(consultasCatalogo::registrarLibro);
+        return guardados.size();
+    }
+
+    // Los libros que otra instancia inserto mientras tanto quedan afuera (ON CONFLICT).
+    // Con reWriteBatchedInserts el driver no informa filas por libro y se consultan los ids
+    private List<Libro> insertados(List<Libro> libros, int[] resultado) {
+        if (Arrays.stream(resultado).allMatch(filas -> filas == 1)) {
+            return libros;
+        }
+        Set<Long> existentes = new HashSet<>(namedJdbcTemplate.queryForList(SQL_IDS_EXISTENTES,
+                Map.of("ids", libros.stream().map(Libro::getId).toList()), Long.class));
+        return libros.stream().filter(libro -> existentes.contains(libro.getId())).toList();
+    }
+
+    private void mostrarProgreso(int paginas, long libros, long inicio, Integer total) {
+        double segundos = Math.max((System.nanoTime() - inicio) / 1_000_000_000.0, 0.001);
+        System.out.printf("Paginas: %d | Libros guardados: %d%s | %.1f libros/s%n",
+                paginas, libros, total != null ? " de " + total : "", libros / segundos);
+    }
+
+    private void esperar(long milisegundos) {
+        try {
+            Thread.sleep(milisegundos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("La importacion fue interrumpida.", e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.literalura_challenge.service;
+
+import com.example.literalura_challenge.model.DatosLibro;
+import com.example.literalura_challenge.model.DatosRespuesta;
+import com.example.literalura_challenge.model.Libro;
+import com.example.literalura_challenge.repository.LibroRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * Busqueda de libros en Gutendex y alta en la biblioteca. La usan tanto el
+ * menu de consola como la API HTTP.
+ */
+@Service
+public class LibroService {
+    private static final int MAX_PAGINAS_BUSQUEDA = 3;
+
+    public record ResultadoGuardado(Libro libro, boolean nuevo) {
+    }
+
+    private ConvierteDatos conversor = new ConvierteDatos();
+
+    // Direccion de la API de libros (otra para probar con un servidor local)
+    @Value("${literalura.gutendex.url:https://gutendex.com/books/}")
+    private String urlBase;
+
+    @Autowired
+    private ConsumoAPI consumoApi;
+
+    @Autowired
+    private EspejoCatalogo espejoCatalogo;
+
+    @Autowired
+    private PrecargaGutendex precargaGutendex;
+
+    @Autowired
+    private LibroRepository libroRepository;
+
+    @Autowired
+    private ResolutorAutores resolutorAutores;
+
+    @Autowired
+    private ResolutorIdiomas resolutorIdiomas;
+
+    @Autowired
+    private ConsultasCatalogo consultasCatalogo;
+
+    /**
+     * Devuelve el resultado mas relevante para el titulo (ver {@link RankingTitulos}).
+     * Solo pide mas paginas de resultados mientras ninguno contiene todas las palabras buscadas.
+     */
+    public Optional<DatosLibro> buscarEnGutendex(String titulo) {
+        // Con el espejo local no hace falta consultar Gutendex
+        if (espejoCatalogo.estaDisponible()) {
+            return espejoCatalogo.buscar(titulo);
+        }
+        // Los libros populares precargados al iniciar evitan la espera de la red
+        Optional<DatosLibro> precargado = precargaGutendex.buscar(titulo);
+        if (precargado.isPresent()) {
+            return precargado;
+        }
+        var ranking = new RankingTitulos(titulo);
+        String url = urlBase + "?search=" + URLEncoder.encode(titulo.trim(), StandardCharsets.UTF_8);
+        DatosLibro mejor = null;
+        double mejorPuntaje = 0;
+        double mejorRelevancia = 0;
+
+        for (int pagina = 1; url != null && pagina <= MAX_PAGINAS_BUSQUEDA; pagina++) {
+            var datosBusqueda = conversor.obtenerDatos(consumoApi.obtenerDatos(url), DatosRespuesta.class);
+            for (DatosLibro candidato : datosBusqueda.resultados()) {
+                if (candidato.titulo() == null) {
+                    continue;
+                }
+                double relevancia = ranking.relevancia(candidato.titulo());
+                double puntaje = ranking.puntaje(relevancia, candidato.numeroDeDescargas());
+                if (relevancia >= RankingTitulos.RELEVANCIA_MINIMA && puntaje > mejorPuntaje) {
+                    mejor = candidato;
+                    mejorPuntaje = puntaje;
+                    mejorRelevancia = Math.max(mejorRelevancia, relevancia);
+                }
+            }
+            if (mejorRelevancia >= RankingTitulos.RELEVANCIA_SUFICIENTE) {
+                break;
+            }
+            url = datosBusqueda.siguiente();
+        }
+        return Optional.ofNullable(mejor);
+    }
+
+    // Guarda el libro salvo que ya este en la biblioteca; en ese caso devuelve el existente
+    public ResultadoGuardado guardar(DatosLibro datos) {
+        Optional<Libro> libroExistente = libroRepository.buscarPorTituloIndexado(datos.titulo());
+        if (libroExistente.isPresent()) {
+            return new ResultadoGuardado(libroExistente.get(), false);
+        }
+
+        Libro libro = new Libro(datos, resolutorAutores.resolver(datos), resolutorIdiomas.resolver(datos));
+        try {
+            libroRepository.save(libro);
+        } catch (DataIntegrityViolationException e) {
+            // Otro pedido guardo el mismo titulo al mismo tiempo
+            return libroRepository.buscarPorTituloIndexado(datos.titulo())
+                    .map(existente -> new ResultadoGuardado(existente, false))
+                    .orElseThrow(() -> e);
+        }
+        consultasCatalogo.registrarLibro(libro);
+        return new ResultadoGuardado(libro, true);
+    }
+}
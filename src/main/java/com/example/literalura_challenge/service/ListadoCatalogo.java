@@ -0,0 +1,51 @@
+package com.example.literalura_challenge.service;
+
+import com.example.literalura_challenge.model.AutorResumen;
+import com.example.literalura_challenge.model.LibroResumen;
+import com.example.literalura_challenge.repository.AutorRepository;
+import com.example.literalura_challenge.repository.LibroRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Iterator;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Recorre libros y autores fila por fila dentro de una transaccion de solo
+ * lectura, para mostrarlos a medida que llegan con memoria constante.
+ */
+@Service
+public class ListadoCatalogo {
+
+    @Autowired
+    private LibroRepository libroRepository;
+
+    @Autowired
+    private AutorRepository autorRepository;
+
+    // Entrega cada libro con su posicion en el listado, empezando en 1
+    @Transactional(readOnly = true)
+    public void recorrerLibros(ObjIntConsumer<LibroResumen> consumidor) {
+        try (Stream<LibroResumen> libros = libroRepository.streamResumenes()) {
+            recorrer(libros, consumidor);
+        }
+    }
+
+    // Entrega cada autor con su posicion en el listado, empezando en 1
+    @Transactional(readOnly = true)
+    public void recorrerAutores(ObjIntConsumer<AutorResumen> consumidor) {
+        try (Stream<AutorResumen> autores = autorRepository.streamResumenes()) {
+            recorrer(autores, consumidor);
+        }
+    }
+
+    private <T> void recorrer(Stream<T> elementos, ObjIntConsumer<T> consumidor) {
+        int posicion = 0;
+        Iterator<T> iterador = elementos.iterator();
+        while (iterador.hasNext()) {
+            consumidor.accept(iterador.next(), ++posicion);
+        }
+    }
+}
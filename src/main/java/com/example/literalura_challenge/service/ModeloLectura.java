@@ -0,0 +1,300 @@
+package com.example.literalura_challenge.service;
+
+import com.example.literalura_challenge.model.Autor;
+import com.example.literalura_challenge.model.AutorResumen;
+import com.example.literalura_challenge.model.EstadisticaIdioma;
+import com.example.literalura_challenge.model.Libro;
+import com.example.literalura_challenge.model.LibroResumen;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Copia en memoria del catalogo para las opciones 4 a 7, cargada una vez al
+ * iniciar y actualizada con cada libro guardado desde la aplicacion. Cada libro
+ * tiene una posicion fija y los indices guardan solo esas posiciones:
+ * <ul>
+ *     <li>un BitSet por idioma (libros por idioma y estadisticas); un libro
+ *     en varios idiomas esta en varios BitSet;</li>
+ *     <li>un arreglo de posiciones ordenado por descargas (ranking);</li>
+ *     <li>los autores ordenados por ano de nacimiento (autores vivos en un ano).</li>
+ * </ul>
+ * Se habilita con literalura.modelo-lectura.habilitado=true. Los libros que
+ * guardan la busqueda, el lote y el importador se registran al confirmar cada
+ * transaccion, y la restauracion de una copia lo recarga entero. Solo los que
+ * agregue otra instancia no se ven hasta reiniciar.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "literalura.modelo-lectura.habilitado", havingValue = "true")
+public class ModeloLectura implements ConsultasCatalogo {
+
+    private final ReadWriteLock candado = new ReentrantReadWriteLock();
+
+    // Datos de cada libro por posicion
+    private final List<LibroResumen> libros = new ArrayList<>();
+    private long[] ids = new long[1024];
+    private double[] descargas = new double[1024];
+
+    private final Map<String, BitSet> librosPorIdioma = new HashMap<>();
+
+    // Posiciones de los libros con descargas, de mayor a menor (y por id descendente si empatan)
+    private int[] ranking = new int[0];
+    private int tamanoRanking;
+
+    // Autores ordenados por nacimiento; sin fecha se toman como extremos del rango
+    private final Set<Long> idsAutores = new HashSet<>();
+    private AutorResumen[] autores = new AutorResumen[0];
+    private int[] nacimientos = new int[0];
+    private int[] fallecimientos = new int[0];
+    private int cantidadAutores;
+
+    @Autowired
+    private ListadoCatalogo listadoCatalogo;
+
+    @PostConstruct
+    void cargar() {
+        candado.writeLock().lock();
+        try {
+            listadoCatalogo.recorrerLibros((libro, posicion) -> agregarLibro(libro));
+            ranking = IntStream.range(0, libros.size())
+                    .filter(i -> libros.get(i).numeroDeDescargas() != null)
+                    .boxed()
+                    .sorted(Comparator.<Integer>comparingDouble(i -> descargas[i]).reversed()
+                            .thenComparing(Comparator.<Integer>comparingLong(i -> ids[i]).reversed()))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            tamanoRanking = ranking.length;
+
+            List<AutorResumen> leidos = new ArrayList<>();
+            listadoCatalogo.recorrerAutores((autor, posicion) -> leidos.add(autor));
+            leidos.sort(Comparator.comparingInt(ModeloLectura::nacimiento));
+            autores = leidos.toArray(new AutorResumen[0]);
+            nacimientos = leidos.stream().mapToInt(ModeloLectura::nacimiento).toArray();
+            fallecimientos = leidos.stream().mapToInt(ModeloLectura::fallecimiento).toArray();
+            cantidadAutores = autores.length;
+            leidos.forEach(autor -> idsAutores.add(autor.id()));
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<AutorResumen> autoresVivosEnAno(int ano) {
+        candado.readLock().lock();
+        try {
+            // Solo se revisan los nacidos hasta ese ano
+            int hasta = primeraPosicionMayor(nacimientos, cantidadAutores, ano);
+            List<AutorResumen> vivos = new ArrayList<>();
+            for (int i = 0; i < hasta; i++) {
+                if (fallecimientos[i] > ano) {
+                    vivos.add(autores[i]);
+                }
+            }
+            return vivos;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<LibroResumen> librosPorIdioma(String idioma) {
+        candado.readLock().lock();
+        try {
+            BitSet posiciones = librosPorIdioma.get(idioma);
+            if (posiciones == null) {
+                return List.of();
+            }
+            List<LibroResumen> resultado = new ArrayList<>(posiciones.cardinality());
+            for (int i = posiciones.nextSetBit(0); i >= 0; i = posiciones.nextSetBit(i + 1)) {
+                resultado.add(libros.get(i));
+            }
+            return resultado;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<EstadisticaIdioma> estadisticasPorCantidad() {
+        return estadisticas(Comparator.comparingLong(EstadisticaIdioma::cantidad).reversed()
+                .thenComparing(EstadisticaIdioma::idioma));
+    }
+
+    @Override
+    public List<EstadisticaIdioma> estadisticasPorIdioma() {
+        return estadisticas(Comparator.comparing(EstadisticaIdioma::idioma));
+    }
+
+    @Override
+    public long totalLibros() {
+        candado.readLock().lock();
+        try {
+            return libros.size();
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<LibroResumen> masDescargados(int cantidad) {
+        candado.readLock().lock();
+        try {
+            return rankingDesde(0, cantidad);
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<LibroResumen> masDescargadosDespuesDe(double descargas, long id, int cantidad) {
+        candado.readLock().lock();
+        try {
+            return rankingDesde(posicionEnRanking(descargas, id), cantidad);
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void registrarLibro(Libro libro) {
+        candado.writeLock().lock();
+        try {
+            int posicion = agregarLibro(LibroResumen.de(libro));
+            if (libro.getNumeroDeDescargas() != null) {
+                int destino = posicionEnRanking(descargas[posicion], ids[posicion]);
+                ranking = insertar(ranking, tamanoRanking++, destino, posicion);
+            }
+            for (Autor autor : libro.getAutores()) {
+                if (idsAutores.add(autor.getId())) {
+                    agregarAutor(AutorResumen.de(autor));
+                }
+            }
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void recargar() {
+        candado.writeLock().lock();
+        try {
+            libros.clear();
+            librosPorIdioma.clear();
+            idsAutores.clear();
+            cargar();
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    private int agregarLibro(LibroResumen libro) {
+        int posicion = libros.size();
+        if (posicion == ids.length) {
+            ids = Arrays.copyOf(ids, posicion * 2);
+            descargas = Arrays.copyOf(descargas, posicion * 2);
+        }
+        libros.add(libro);
+        ids[posicion] = libro.id();
+        descargas[posicion] = libro.numeroDeDescargas() != null ? libro.numeroDeDescargas() : 0;
+        for (String codigo : libro.codigosIdiomas()) {
+            librosPorIdioma.computeIfAbsent(codigo, idioma -> new BitSet()).set(posicion);
+        }
+        return posicion;
+    }
+
+    private void agregarAutor(AutorResumen autor) {
+        int nacimiento = nacimiento(autor);
+        int destino = primeraPosicionMayor(nacimientos, cantidadAutores, nacimiento);
+        if (cantidadAutores == autores.length) {
+            autores = Arrays.copyOf(autores, Math.max(16, cantidadAutores * 2));
+        }
+        System.arraycopy(autores, destino, autores, destino + 1, cantidadAutores - destino);
+        autores[destino] = autor;
+        nacimientos = insertar(nacimientos, cantidadAutores, destino, nacimiento);
+        fallecimientos = insertar(fallecimientos, cantidadAutores, destino, fallecimiento(autor));
+        cantidadAutores++;
+    }
+
+    private List<EstadisticaIdioma> estadisticas(Comparator<EstadisticaIdioma> orden) {
+        candado.readLock().lock();
+        try {
+            return librosPorIdioma.entrySet().stream()
+                    .map(entrada -> new EstadisticaIdioma(entrada.getKey(), entrada.getValue().cardinality()))
+                    .sorted(orden)
+                    .toList();
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    private List<LibroResumen> rankingDesde(int desde, int cantidad) {
+        int hasta = Math.min(tamanoRanking, desde + cantidad);
+        List<LibroResumen> resultado = new ArrayList<>(Math.max(hasta - desde, 0));
+        for (int i = desde; i < hasta; i++) {
+            resultado.add(libros.get(ranking[i]));
+        }
+        return resultado;
+    }
+
+    // Primera posicion del ranking que va despues de un libro con esas descargas e id
+    private int posicionEnRanking(double descargasBuscadas, long id) {
+        int desde = 0;
+        int hasta = tamanoRanking;
+        while (desde < hasta) {
+            int medio = (desde + hasta) >>> 1;
+            double d = descargas[ranking[medio]];
+            if (d > descargasBuscadas || (d == descargasBuscadas && ids[ranking[medio]] >= id)) {
+                desde = medio + 1;
+            } else {
+                hasta = medio;
+            }
+        }
+        return desde;
+    }
+
+    private static int primeraPosicionMayor(int[] valores, int cantidad, int valor) {
+        int desde = 0;
+        int hasta = cantidad;
+        while (desde < hasta) {
+            int medio = (desde + hasta) >>> 1;
+            if (valores[medio] <= valor) {
+                desde = medio + 1;
+            } else {
+                hasta = medio;
+            }
+        }
+        return desde;
+    }
+
+    // Inserta el valor en la posicion indicada, agrandando el arreglo si hace falta
+    private static int[] insertar(int[] valores, int cantidad, int posicion, int valor) {
+        int[] destino = cantidad == valores.length ? Arrays.copyOf(valores, Math.max(16, cantidad * 2)) : valores;
+        System.arraycopy(destino, posicion, destino, posicion + 1, cantidad - posicion);
+        destino[posicion] = valor;
+        return destino;
+    }
+
+    private static int nacimiento(AutorResumen autor) {
+        return autor.fechaDeNacimiento() != null ? autor.fechaDeNacimiento() : Integer.MIN_VALUE;
+    }
+
+    private static int fallecimiento(AutorResumen autor) {
+        return autor.fechaDeFallecimiento() != null ? autor.fechaDeFallecimiento() : Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.literalura_challenge.service;
+
+import com.example.literalura_challenge.model.DatosLibro;
+import com.example.literalura_challenge.model.DatosRespuesta;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Future;
+
+/**
+ * Precarga en segundo plano de los libros mas descargados de Gutendex, en
+ * general y en algunos idiomas, para que las busquedas habituales no esperen
+ * a la red. Las paginas pasan por {@link ConsumoAPI} (quedan en la cache) y sus
+ * libros se guardan en memoria con el titulo ya normalizado.
+ * <p>
+ * Corre en el ejecutor de tareas de Spring, espacia las consultas y se
+ * detiene ante un 429, al cancelarla o al cerrar la aplicacion. El menu nunca
+ * la espera: mientras no termina, las busquedas que no encuentra van a Gutendex.
+ */
+@Service
+public class PrecargaGutendex {
+    private static final Logger log = LoggerFactory.getLogger(PrecargaGutendex.class);
+
+    private record Entrada(DatosLibro libro, String titulo, String[] palabras) {
+    }
+
+    @Value("${literalura.gutendex.url:https://gutendex.com/books/}")
+    private String urlBase;
+
+    @Value("${literalura.precarga.habilitada:false}")
+    private boolean habilitada;
+
+    // Paginas de 32 libros de la lista general de populares
+    @Value("${literalura.precarga.paginas:5}")
+    private int paginas;
+
+    // Una pagina de populares por cada idioma
+    @Value("${literalura.precarga.idiomas:es,en,fr,pt}")
+    private List<String> idiomas;
+
+    @Value("${literalura.precarga.consultas-por-segundo:1}")
+    private double consultasPorSegundo;
+
+    @Autowired
+    private ConsumoAPI consumoApi;
+
+    @Autowired
+    private EspejoCatalogo espejoCatalogo;
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private AsyncTaskExecutor ejecutor;
+
+    private final ConvierteDatos conversor = new ConvierteDatos();
+    // Se reemplaza entera al agregar cada pagina: las busquedas leen sin bloquear
+    private volatile List<Entrada> precargados = List.of();
+    private Future<?> tarea;
+
+    // Arranca la precarga si esta habilitada; vuelve de inmediato
+    public synchronized void iniciar() {
+        if (!habilitada || tarea != null || espejoCatalogo.estaDisponible()) {
+            // Con el espejo local las busquedas ya no usan la red
+            return;
+        }
+        tarea = ejecutor.submit(this::precargar);
+    }
+
+    @PreDestroy
+    public synchronized void cancelar() {
+        if (tarea != null) {
+            tarea.cancel(true);
+        }
+    }
+
+    public int getCantidad() {
+        return precargados.size();
+    }
+
+    /**
+     * Libro precargado con el titulo identico al buscado (relevancia 1, como el corte
+     * de EspejoCatalogo), o vacio para buscar en Gutendex. Con un parecido parcial se
+     * consulta Gutendex, que puede tener un titulo mejor fuera de los populares.
+     */
+    public Optional<DatosLibro> buscar(String titulo) {
+        var ranking = new RankingTitulos(titulo);
+        DatosLibro mejor = null;
+        double mejorPuntaje = 0;
+        for (Entrada entrada : precargados) {
+            double relevancia = ranking.relevancia(entrada.titulo(), entrada.palabras());
+            if (relevancia < 1) {
+                continue;
+            }
+            // Entre titulos identicos (por ejemplo en varios idiomas) gana el mas descargado
+            double puntaje = ranking.puntaje(relevancia, entrada.libro().numeroDeDescargas());
+            if (puntaje > mejorPuntaje) {
+                mejor = entrada.libro();
+                mejorPuntaje = puntaje;
+            }
+        }
+        return Optional.ofNullable(mejor);
+    }
+
+    private void precargar() {
+        String url = urlBase + "?sort=popular";
+        Set<Long> vistos = new HashSet<>();
+        long intervalo = (long) (1000 / consultasPorSegundo);
+        try {
+            for (int pagina = 1; url != null && pagina <= paginas; pagina++) {
+                url = agregarPagina(url, vistos);
+                Thread.sleep(intervalo);
+            }
+            for (String idioma : idiomas) {
+                if (!idioma.isBlank()) {
+                    agregarPagina(urlBase + "?sort=popular&languages=" + idioma.trim(), vistos);
+                    Thread.sleep(intervalo);
+                }
+            }
+            log.info("Precarga terminada: {} libros populares en memoria", precargados.size());
+        } catch (InterruptedException e) {
+            // Cancelada: lo ya precargado sigue sirviendo
+            Thread.currentThread().interrupt();
+        } catch (ErrorGutendex e) {
+            // 429 o falla del servidor: la precarga es opcional y no compite con las busquedas
+            log.info("Precarga detenida (Gutendex respondio {}) con {} libros", e.getEstado(), precargados.size());
+        } catch (RuntimeException e) {
+            log.debug("Precarga detenida con {} libros", precargados.size(), e);
+        }
+    }
+
+    // Agrega los libros de la pagina y devuelve la siguiente
+    private String agregarPagina(String url, Set<Long> vistos) {
+        var pagina = conversor.obtenerDatos(consumoApi.obtenerDatos(url), DatosRespuesta.class);
+        List<Entrada> nuevos = new ArrayList<>(precargados);
+        for (DatosLibro libro : pagina.resultados()) {
+            if (libro.titulo() != null && (libro.id() == null || vistos.add(libro.id()))) {
+                String titulo = RankingTitulos.normalizar(libro.titulo());
+                nuevos.add(new Entrada(libro, titulo, RankingTitulos.palabras(titulo)));
+            }
+        }
+        precargados = List.copyOf(nuevos);
+        return pagina.siguiente();
+    }
+}
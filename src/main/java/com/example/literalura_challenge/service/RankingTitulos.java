@@ -0,0 +1,122 @@
+package com.example.literalura_challenge.service;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Puntaje de un titulo para un texto buscado. Los textos se comparan sin
+ * acentos, mayusculas ni signos, palabra por palabra: cuenta cuantas palabras
+ * buscadas aparecen en el titulo (completas, como comienzo de una palabra o con
+ * algun error de tipeo) y, entre titulos igual de relevantes, prefiere el mas
+ * descargado.
+ */
+public class RankingTitulos {
+    // Todas las palabras buscadas estan en el titulo: no hace falta buscar en mas paginas
+    public static final double RELEVANCIA_SUFICIENTE = 0.8;
+    // Por debajo de esto el titulo no se ofrece como resultado
+    public static final double RELEVANCIA_MINIMA = 0.5;
+
+    private static final double PESO_DESCARGAS = 0.05;
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final String consulta;
+    private final String[] palabrasConsulta;
+
+    public RankingTitulos(String texto) {
+        this.consulta = normalizar(texto);
+        this.palabrasConsulta = palabras(consulta);
+    }
+
+    // "Don Quijote de la Mancha!" -> "don quijote de la mancha"
+    public static String normalizar(String texto) {
+        String sinAcentos = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARADORES.matcher(sinAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    public static String[] palabras(String normalizado) {
+        return normalizado.isEmpty() ? new String[0] : normalizado.split(" ");
+    }
+
+    public double relevancia(String titulo) {
+        String normalizado = normalizar(titulo);
+        return relevancia(normalizado, palabras(normalizado));
+    }
+
+    /**
+     * Relevancia entre 0 y 1 de un titulo ya normalizado. Solo el titulo
+     * identico a la busqueda llega a 1.
+     */
+    public double relevancia(String tituloNormalizado, String[] palabrasTitulo) {
+        if (palabrasConsulta.length == 0 || palabrasTitulo.length == 0) {
+            return 0;
+        }
+        if (tituloNormalizado.equals(consulta)) {
+            return 1;
+        }
+        double coincidencias = 0;
+        for (String palabra : palabrasConsulta) {
+            coincidencias += mejorCoincidencia(palabra, palabrasTitulo);
+        }
+        double cobertura = coincidencias / palabrasConsulta.length;
+        // Entre dos titulos que contienen la busqueda gana el que no agrega tantas palabras
+        double precision = Math.min(1, coincidencias / palabrasTitulo.length);
+        double relevancia = 0.8 * cobertura + 0.1 * precision
+                + (tituloNormalizado.startsWith(consulta) ? 0.09 : 0);
+        return Math.min(relevancia, 0.99);
+    }
+
+    // Relevancia ajustada por popularidad: 100.000 descargas suman un 25%
+    public double puntaje(double relevancia, Double descargas) {
+        double popularidad = descargas != null && descargas > 0 ? Math.log10(1 + descargas) : 0;
+        return relevancia * (1 + PESO_DESCARGAS * popularidad);
+    }
+
+    private static double mejorCoincidencia(String buscada, String[] palabrasTitulo) {
+        double mejor = 0;
+        for (String palabra : palabrasTitulo) {
+            if (palabra.equals(buscada)) {
+                return 1;
+            }
+            if (palabra.startsWith(buscada)) {
+                mejor = Math.max(mejor, 0.9);
+            } else if (buscada.length() >= 4 && mejor < 0.8) {
+                int limite = buscada.length() >= 8 ? 2 : 1;
+                int distancia = distancia(buscada, palabra, limite);
+                if (distancia <= limite) {
+                    mejor = Math.max(mejor, distancia == 1 ? 0.8 : 0.65);
+                }
+            }
+        }
+        return mejor;
+    }
+
+    // Distancia de edicion (Levenshtein); devuelve limite + 1 en cuanto la supera
+    private static int distancia(String a, String b, int limite) {
+        if (Math.abs(a.length() - b.length()) > limite) {
+            return limite + 1;
+        }
+        int[] anterior = new int[b.length() + 1];
+        int[] actual = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            anterior[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            actual[0] = i;
+            int minimoFila = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int costo = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                actual[j] = Math.min(Math.min(actual[j - 1] + 1, anterior[j] + 1), anterior[j - 1] + costo);
+                minimoFila = Math.min(minimoFila, actual[j]);
+            }
+            if (minimoFila > limite) {
+                return limite + 1;
+            }
+            int[] intercambio = anterior;
+            anterior = actual;
+            actual = intercambio;
+        }
+        return anterior[b.length()];
+    }
+}
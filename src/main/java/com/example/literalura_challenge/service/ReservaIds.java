@@ -0,0 +1,33 @@
+package com.example.literalura_challenge.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ids para las inserciones JDBC en lote, tomados de las secuencias igual que los
+ * reserva Hibernate: cada valor v de la secuencia reserva los ids v-bloque+1..v.
+ * Asi no chocan con los que asigna Hibernate al guardar con JPA.
+ */
+final class ReservaIds {
+
+    private ReservaIds() {
+    }
+
+    static List<Long> reservar(JdbcTemplate jdbcTemplate, String secuencia, int bloque, int cantidad) {
+        int bloques = (cantidad + bloque - 1) / bloque;
+        List<Long> ids = new ArrayList<>(bloques * bloque);
+        for (int i = 0; i < bloques; i++) {
+            long valor = jdbcTemplate.queryForObject("SELECT nextval('" + secuencia + "')", Long.class);
+            for (long id = Math.max(1, valor - bloque + 1); id <= valor; id++) {
+                ids.add(id);
+            }
+        }
+        // El primer valor de la secuencia (1) reserva un solo id
+        while (ids.size() < cantidad) {
+            ids.addAll(reservar(jdbcTemplate, secuencia, bloque, cantidad - ids.size()));
+        }
+        return ids;
+    }
+}
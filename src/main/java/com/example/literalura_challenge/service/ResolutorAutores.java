@@ -0,0 +1,182 @@
+package com.example.literalura_challenge.service;
+
+import com.example.literalura_challenge.model.Autor;
+import com.example.literalura_challenge.model.DatosAutor;
+import com.example.literalura_challenge.model.DatosLibro;
+import com.example.literalura_challenge.repository.AutorRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Obtiene o crea el autor de un libro segun su clave natural
+ * (nombre, nacimiento y fallecimiento). Los autores ya resueltos quedan en
+ * memoria, asi que guardar otro libro del mismo autor no consulta la base.
+ */
+@Service
+public class ResolutorAutores {
+
+    private record ClaveAutor(String nombre, Integer fechaDeNacimiento, Integer fechaDeFallecimiento) {
+    }
+
+    private static final String SQL_INSERTAR_AUTOR = """
+            INSERT INTO autores (id, nombre, fecha_de_nacimiento, fecha_de_fallecimiento)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT DO NOTHING
+            """;
+    private static final String SQL_AUTORES_POR_NOMBRE = """
+            SELECT id, nombre, fecha_de_nacimiento, fecha_de_fallecimiento
+            FROM autores WHERE nombre IN (:nombres) ORDER BY id
+            """;
+
+    private final Map<ClaveAutor, Autor> autores = new ConcurrentHashMap<>();
+
+    @Autowired
+    private AutorRepository autorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Todos los autores del libro, sin repetir y en el orden de Gutendex (vacia si no informa ninguno)
+    public List<Autor> resolver(DatosLibro datosLibro) {
+        if (datosLibro.autor() == null) {
+            return List.of();
+        }
+        return datosLibro.autor().stream()
+                .filter(Objects::nonNull)
+                .map(this::resolver)
+                .distinct()
+                .toList();
+    }
+
+    public Autor resolver(DatosAutor datosAutor) {
+        var clave = clave(datosAutor);
+        Autor autor = autores.get(clave);
+        return autor != null ? autor : buscarOCrear(clave, datosAutor);
+    }
+
+    /**
+     * Deja en memoria todos los autores de una pagina del catalogo: los que faltan se
+     * buscan con una consulta por nombre y los nuevos se insertan en un solo lote
+     * (ON CONFLICT cubre a otra instancia insertandolos a la vez). Despues,
+     * resolver() los encuentra sin ir a la base.
+     */
+    public void resolverPagina(List<DatosLibro> libros) {
+        Map<ClaveAutor, DatosAutor> faltantes = new LinkedHashMap<>();
+        for (DatosLibro libro : libros) {
+            if (libro.autor() != null) {
+                libro.autor().stream()
+                        .filter(Objects::nonNull)
+                        .filter(autor -> autor.nombre() != null)
+                        .forEach(autor -> faltantes.putIfAbsent(clave(autor), autor));
+            }
+        }
+        faltantes.keySet().removeIf(autores::containsKey);
+        if (faltantes.isEmpty()) {
+            return;
+        }
+        // El mismo candado que buscarOCrear, pero una vez por pagina y no por autor
+        synchronized (this) {
+            faltantes.keySet().removeIf(autores::containsKey);
+            if (faltantes.isEmpty()) {
+                return;
+            }
+            // En una transaccion propia: con auto-commit apagado (perfil masivo) el pool
+            // deshace lo que quedo sin confirmar al devolver la conexion
+            Map<ClaveAutor, Autor> resueltos = transactionTemplate.execute(estado -> {
+                // Primero se buscan: un autor sin anos nunca choca con la restriccion unica
+                // (NULL es distinto de NULL), asi que ON CONFLICT no alcanza para no duplicarlo
+                Map<ClaveAutor, Autor> existentes = buscarPorNombre(faltantes.keySet());
+                List<ClaveAutor> nuevos = faltantes.keySet().stream()
+                        .filter(clave -> !existentes.containsKey(clave))
+                        .toList();
+                if (nuevos.isEmpty()) {
+                    return existentes;
+                }
+
+                Iterator<Long> ids = ReservaIds.reservar(jdbcTemplate, "autores_seq", Autor.IDS_POR_RESERVA,
+                        nuevos.size()).iterator();
+                List<Object[]> filas = new ArrayList<>(nuevos.size());
+                for (ClaveAutor clave : nuevos) {
+                    filas.add(new Object[]{ids.next(), clave.nombre(), clave.fechaDeNacimiento(), clave.fechaDeFallecimiento()});
+                }
+                jdbcTemplate.batchUpdate(SQL_INSERTAR_AUTOR, filas,
+                        new int[]{Types.BIGINT, Types.VARCHAR, Types.INTEGER, Types.INTEGER});
+                // Se releen por nombre: si otra instancia gano el conflicto, queda su id
+                return buscarPorNombre(faltantes.keySet());
+            });
+            // La cache se llena recien con los autores confirmados
+            if (resueltos != null) {
+                autores.putAll(resueltos);
+            }
+        }
+    }
+
+    private Map<ClaveAutor, Autor> buscarPorNombre(Set<ClaveAutor> claves) {
+        Set<String> nombres = claves.stream().map(ClaveAutor::nombre).collect(Collectors.toSet());
+        Map<ClaveAutor, Autor> encontrados = new HashMap<>();
+        namedJdbcTemplate.query(SQL_AUTORES_POR_NOMBRE, Map.of("nombres", nombres), fila -> {
+            Autor autor = new Autor();
+            autor.setId(fila.getLong("id"));
+            autor.setNombre(fila.getString("nombre"));
+            autor.setFechaDeNacimiento(fila.getObject("fecha_de_nacimiento", Integer.class));
+            autor.setFechaDeFallecimiento(fila.getObject("fecha_de_fallecimiento", Integer.class));
+            var clave = new ClaveAutor(autor.getNombre(), autor.getFechaDeNacimiento(), autor.getFechaDeFallecimiento());
+            // Con duplicados (autores sin anos guardados dos veces) gana el de menor id
+            if (claves.contains(clave)) {
+                encontrados.putIfAbsent(clave, autor);
+            }
+        });
+        return encontrados;
+    }
+
+    private static ClaveAutor clave(DatosAutor datosAutor) {
+        return new ClaveAutor(datosAutor.nombre() != null ? datosAutor.nombre().trim() : null,
+                datosAutor.fechaDeNacimiento(), datosAutor.fechaDeFallecimiento());
+    }
+
+    private synchronized Autor buscarOCrear(ClaveAutor clave, DatosAutor datosAutor) {
+        Autor autor = autores.get(clave);
+        if (autor == null) {
+            autor = buscar(clave).orElseGet(() -> {
+                try {
+                    Autor nuevo = new Autor(datosAutor);
+                    nuevo.setNombre(clave.nombre());
+                    return autorRepository.save(nuevo);
+                } catch (DataIntegrityViolationException e) {
+                    // Otra instancia de la aplicacion lo guardo primero
+                    return buscar(clave).orElseThrow(() -> e);
+                }
+            });
+            autores.put(clave, autor);
+        }
+        return autor;
+    }
+
+    private Optional<Autor> buscar(ClaveAutor clave) {
+        return autorRepository.findFirstByNombreAndFechaDeNacimientoAndFechaDeFallecimiento(
+                clave.nombre(), clave.fechaDeNacimiento(), clave.fechaDeFallecimiento());
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.literalura_challenge.service;
+
+import com.example.literalura_challenge.model.DatosLibro;
+import com.example.literalura_challenge.model.Idioma;
+import com.example.literalura_challenge.repository.IdiomaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Obtiene o crea los idiomas de un libro segun su codigo. Son pocos, asi que
+ * despues de la primera vez se resuelven siempre desde memoria.
+ */
+@Service
+public class ResolutorIdiomas {
+    private static final String DESCONOCIDO = "desconocido";
+
+    private final Map<String, Idioma> idiomas = new ConcurrentHashMap<>();
+
+    @Autowired
+    private IdiomaRepository idiomaRepository;
+
+    // Todos los idiomas del libro, sin repetir; "desconocido" si Gutendex no informa ninguno
+    public List<Idioma> resolver(DatosLibro datosLibro) {
+        List<String> codigos = datosLibro.idiomas() == null ? List.of() : datosLibro.idiomas().stream()
+                .filter(Objects::nonNull)
+                .map(codigo -> codigo.trim().toLowerCase(Locale.ROOT))
+                .filter(codigo -> !codigo.isEmpty())
+                .distinct()
+                .toList();
+        return (codigos.isEmpty() ? List.of(DESCONOCIDO) : codigos).stream()
+                .map(this::resolver)
+                .toList();
+    }
+
+    public Idioma resolver(String codigo) {
+        Idioma idioma = idiomas.get(codigo);
+        return idioma != null ? idioma : buscarOCrear(codigo);
+    }
+
+    private synchronized Idioma buscarOCrear(String codigo) {
+        Idioma idioma = idiomas.get(codigo);
+        if (idioma == null) {
+            idioma = idiomaRepository.findByCodigo(codigo).orElseGet(() -> {
+                try {
+                    return idiomaRepository.save(new Idioma(codigo));
+                } catch (DataIntegrityViolationException e) {
+                    // Otra instancia de la aplicacion lo guardo primero
+                    return idiomaRepository.findByCodigo(codigo).orElseThrow(() -> e);
+                }
+            });
+            idiomas.put(codigo, idioma);
+        }
+        return idioma;
+    }
+}
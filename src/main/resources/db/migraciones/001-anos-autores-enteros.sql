@@ -0,0 +1,15 @@
+-- Convierte los anos de nacimiento y fallecimiento de los autores de texto a integer.
+-- Solo hace falta en bases creadas antes de este cambio. Ejecutar una vez con:
+--   psql -U postgres -d literalura -f src/main/resources/db/migraciones/001-anos-autores-enteros.sql
+-- Los valores que no son un numero entero quedan en NULL.
+BEGIN;
+
+ALTER TABLE autores
+    ALTER COLUMN fecha_de_nacimiento TYPE integer
+        USING CASE WHEN trim(fecha_de_nacimiento) ~ '^-?[0-9]+$' THEN trim(fecha_de_nacimiento)::integer END,
+    ALTER COLUMN fecha_de_fallecimiento TYPE integer
+        USING CASE WHEN trim(fecha_de_fallecimiento) ~ '^-?[0-9]+$' THEN trim(fecha_de_fallecimiento)::integer END;
+
+CREATE INDEX IF NOT EXISTS idx_autores_anos ON autores (fecha_de_nacimiento, fecha_de_fallecimiento);
+
+COMMIT;
@@ -0,0 +1,48 @@
+-- Pasa el autor y el idioma de cada libro a las tablas libro_autores y libro_idiomas,
+-- con los codigos de idioma en la tabla idiomas. Solo hace falta en bases creadas antes
+-- de este cambio. Ejecutar una vez con:
+--   psql -U postgres -d literalura -f src/main/resources/db/migraciones/002-libros-autores-idiomas.sql
+-- Los libros sin idioma quedan con el idioma "desconocido".
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS idiomas (
+    id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    codigo varchar(20) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS libro_autores (
+    libro_id bigint NOT NULL REFERENCES libros (id),
+    autor_id bigint NOT NULL REFERENCES autores (id),
+    orden integer NOT NULL,
+    PRIMARY KEY (libro_id, orden)
+);
+
+CREATE TABLE IF NOT EXISTS libro_idiomas (
+    libro_id bigint NOT NULL REFERENCES libros (id),
+    idioma_id integer NOT NULL REFERENCES idiomas (id),
+    orden integer NOT NULL,
+    PRIMARY KEY (libro_id, orden)
+);
+
+INSERT INTO idiomas (codigo)
+SELECT DISTINCT coalesce(idioma, 'desconocido') FROM libros
+ON CONFLICT (codigo) DO NOTHING;
+
+INSERT INTO libro_autores (libro_id, autor_id, orden)
+SELECT id, autor_id, 0 FROM libros WHERE autor_id IS NOT NULL
+ON CONFLICT DO NOTHING;
+
+INSERT INTO libro_idiomas (libro_id, idioma_id, orden)
+SELECT l.id, i.id, 0 FROM libros l JOIN idiomas i ON i.codigo = coalesce(l.idioma, 'desconocido')
+ON CONFLICT DO NOTHING;
+
+ALTER TABLE libros DROP COLUMN autor_id, DROP COLUMN idioma;
+
+CREATE INDEX IF NOT EXISTS idx_libro_autores_autor ON libro_autores (autor_id, libro_id);
+CREATE INDEX IF NOT EXISTS idx_libro_idiomas_idioma ON libro_idiomas (idioma_id, libro_id);
+
+COMMIT;
+
+ANALYZE libros;
+ANALYZE libro_autores;
+ANALYZE libro_idiomas;
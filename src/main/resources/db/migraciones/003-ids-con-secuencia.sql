@@ -0,0 +1,21 @@
+-- Cambia los ids de libros y autores de columnas IDENTITY a las secuencias libros_seq y
+-- autores_seq (de a 50), para que Hibernate pueda insertar en lotes. Solo hace falta en
+-- bases creadas antes de este cambio. Ejecutar una vez con:
+--   psql -U postgres -d literalura -f src/main/resources/db/migraciones/003-ids-con-secuencia.sql
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS autores_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS libros_seq START WITH 1 INCREMENT BY 50;
+
+-- El proximo valor reserva el bloque que empieza despues del id mas alto
+SELECT setval('autores_seq', (SELECT coalesce(max(id), 0) FROM autores) + 50, false);
+SELECT setval('libros_seq', (SELECT coalesce(max(id), 0) FROM libros) + 50, false);
+
+ALTER TABLE autores
+    ALTER COLUMN id DROP IDENTITY IF EXISTS,
+    ALTER COLUMN id SET DEFAULT nextval('autores_seq');
+ALTER TABLE libros
+    ALTER COLUMN id DROP IDENTITY IF EXISTS,
+    ALTER COLUMN id SET DEFAULT nextval('libros_seq');
+
+COMMIT;
@@ -0,0 +1,45 @@
+-- Tablas del catalogo para la base embebida (perfil "embebido"). Mismas tablas, secuencias
+-- e indices que schema-postgresql.sql; se crean la primera vez y los datos quedan en el archivo
+CREATE SEQUENCE IF NOT EXISTS autores_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS libros_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS autores (
+    id bigint DEFAULT NEXT VALUE FOR autores_seq PRIMARY KEY,
+    nombre varchar(255),
+    fecha_de_nacimiento integer,
+    fecha_de_fallecimiento integer,
+    CONSTRAINT uk_autores_nombre_fechas UNIQUE (nombre, fecha_de_nacimiento, fecha_de_fallecimiento)
+);
+
+CREATE TABLE IF NOT EXISTS idiomas (
+    id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    codigo varchar(20) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS libros (
+    id bigint DEFAULT NEXT VALUE FOR libros_seq PRIMARY KEY,
+    titulo varchar(1000) UNIQUE,
+    numero_de_descargas float(53)
+);
+
+CREATE TABLE IF NOT EXISTS libro_autores (
+    libro_id bigint NOT NULL REFERENCES libros (id),
+    autor_id bigint NOT NULL REFERENCES autores (id),
+    orden integer NOT NULL,
+    PRIMARY KEY (libro_id, orden)
+);
+
+CREATE TABLE IF NOT EXISTS libro_idiomas (
+    libro_id bigint NOT NULL REFERENCES libros (id),
+    idioma_id integer NOT NULL REFERENCES idiomas (id),
+    orden integer NOT NULL,
+    PRIMARY KEY (libro_id, orden)
+);
+
+CREATE INDEX IF NOT EXISTS idx_autores_anos ON autores (fecha_de_nacimiento, fecha_de_fallecimiento);
+CREATE INDEX IF NOT EXISTS idx_libros_descargas ON libros (numero_de_descargas DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_libro_autores_autor ON libro_autores (autor_id, libro_id);
+CREATE INDEX IF NOT EXISTS idx_libro_idiomas_idioma ON libro_idiomas (idioma_id, libro_id);
+
+-- H2 no tiene indices trigram: las busquedas por fragmento recorren la tabla, algo que
+-- una biblioteca personal resuelve en milisegundos
@@ -0,0 +1,56 @@
+-- Tablas del catalogo. Con ddl-auto=create-drop Hibernate ya las creo y esto no hace nada;
+-- con el perfil "rapido" (ddl-auto=validate) las crea la primera vez y los datos se conservan.
+-- Los ids de libros y autores salen de secuencias que avanzan de a 50: Hibernate reserva
+-- bloques de ids (el valor obtenido y los 49 anteriores) y puede insertar en lotes
+CREATE SEQUENCE IF NOT EXISTS autores_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS libros_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS autores (
+    id bigint PRIMARY KEY,
+    nombre varchar(255),
+    fecha_de_nacimiento integer,
+    fecha_de_fallecimiento integer,
+    CONSTRAINT uk_autores_nombre_fechas UNIQUE (nombre, fecha_de_nacimiento, fecha_de_fallecimiento)
+);
+
+CREATE TABLE IF NOT EXISTS idiomas (
+    id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    codigo varchar(20) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS libros (
+    id bigint PRIMARY KEY,
+    titulo varchar(1000) UNIQUE,
+    numero_de_descargas float(53)
+);
+
+-- Los INSERT hechos a mano (sin id) toman un valor propio de la secuencia, que no choca con los bloques de Hibernate
+ALTER TABLE autores ALTER COLUMN id SET DEFAULT nextval('autores_seq');
+ALTER TABLE libros ALTER COLUMN id SET DEFAULT nextval('libros_seq');
+
+-- Un libro puede tener varios autores e idiomas; "orden" conserva el orden de Gutendex
+CREATE TABLE IF NOT EXISTS libro_autores (
+    libro_id bigint NOT NULL REFERENCES libros (id),
+    autor_id bigint NOT NULL REFERENCES autores (id),
+    orden integer NOT NULL,
+    PRIMARY KEY (libro_id, orden)
+);
+
+CREATE TABLE IF NOT EXISTS libro_idiomas (
+    libro_id bigint NOT NULL REFERENCES libros (id),
+    idioma_id integer NOT NULL REFERENCES idiomas (id),
+    orden integer NOT NULL,
+    PRIMARY KEY (libro_id, orden)
+);
+
+CREATE INDEX IF NOT EXISTS idx_autores_anos ON autores (fecha_de_nacimiento, fecha_de_fallecimiento);
+CREATE INDEX IF NOT EXISTS idx_libros_descargas ON libros (numero_de_descargas DESC, id DESC);
+-- Con el libro en el indice, filtrar y contar por idioma o autor no necesita leer la tabla (index-only scan)
+CREATE INDEX IF NOT EXISTS idx_libro_autores_autor ON libro_autores (autor_id, libro_id);
+CREATE INDEX IF NOT EXISTS idx_libro_idiomas_idioma ON libro_idiomas (idioma_id, libro_id);
+
+-- Indices trigram para busquedas por fragmento (LIKE '%texto%') sin recorrer toda la tabla
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_libros_titulo_trgm ON libros USING gin (lower(titulo) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_autores_nombre_trgm ON autores USING gin (lower(nombre) gin_trgm_ops);
@@ -0,0 +1,97 @@
+package com.example.literalura_challenge.controller;
+
+import com.example.literalura_challenge.model.DatosLibro;
+import com.example.literalura_challenge.service.ConsumoAPI;
+import com.example.literalura_challenge.service.LibroService;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpTimeoutException;
+import java.util.Optional;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Los errores de Gutendex al agregar un libro llegan al cliente como 502, 503 o 504.
+ */
+class CatalogoControllerTest {
+
+	private HttpServer servidor;
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void iniciar() throws IOException {
+		// Responde con el codigo que indica la ruta: /429, /500...
+		servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		servidor.createContext("/", intercambio -> {
+			try (intercambio) {
+				int codigo = Integer.parseInt(intercambio.getRequestURI().getPath().substring(1));
+				if (codigo == 429) {
+					intercambio.getResponseHeaders().add("Retry-After", "30");
+				}
+				intercambio.sendResponseHeaders(codigo, -1);
+			}
+		});
+		servidor.start();
+
+		var controlador = new CatalogoController();
+		ReflectionTestUtils.setField(controlador, "libroService", new LibroServiceFalso());
+		mockMvc = MockMvcBuilders.standaloneSetup(controlador).build();
+	}
+
+	@AfterEach
+	void detener() {
+		servidor.stop(0);
+	}
+
+	@Test
+	void gutendexLimitandoConsultasDevuelve503ConRetryAfter() throws Exception {
+		mockMvc.perform(post("/api/libros").param("titulo", "429"))
+				.andExpect(status().isServiceUnavailable())
+				.andExpect(header().string("Retry-After", "30"));
+	}
+
+	@Test
+	void gutendexConErrorInternoDevuelve502() throws Exception {
+		mockMvc.perform(post("/api/libros").param("titulo", "500"))
+				.andExpect(status().isBadGateway())
+				.andExpect(header().doesNotExist("Retry-After"));
+	}
+
+	@Test
+	void gutendexSinResponderATiempoDevuelve504() throws Exception {
+		mockMvc.perform(post("/api/libros").param("titulo", "demora"))
+				.andExpect(status().isGatewayTimeout());
+	}
+
+	@Test
+	void gutendexSinConexionDevuelve502() throws Exception {
+		servidor.stop(0);
+		mockMvc.perform(post("/api/libros").param("titulo", "500"))
+				.andExpect(status().isBadGateway());
+	}
+
+	// Consulta el servidor de prueba en lugar de Gutendex; "demora" simula un tiempo agotado
+	private class LibroServiceFalso extends LibroService {
+		private final ConsumoAPI consumoApi = new ConsumoAPI();
+
+		@Override
+		public Optional<DatosLibro> buscarEnGutendex(String titulo) {
+			if (titulo.equals("demora")) {
+				throw new RuntimeException("No se pudo conectar al servidor de libros.",
+						new HttpTimeoutException("request timed out"));
+			}
+			consumoApi.obtenerDatos("http://127.0.0.1:" + servidor.getAddress().getPort() + "/" + titulo);
+			return Optional.empty();
+		}
+	}
+}
@@ -0,0 +1,135 @@
+package com.example.literalura_challenge.repository;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Muestra el cambio de plan entre la busqueda anterior (upper(titulo) LIKE '%x%')
+ * y la busqueda indexada, y que el filtro por idioma usa el indice de libro_idiomas.
+ * Se explica el SQL que Hibernate envia para cada consulta del repositorio, con los
+ * mismos parametros. Usa la base PostgreSQL configurada, sin H2 ni Testcontainers.
+ * La tabla tiene filas suficientes para que el planificador elija los indices por
+ * costo, sin desactivar el seq scan; se deshacen al terminar cada prueba.
+ * Ejecutar con: {@code mvn test -Pplanes-consulta -Dtest=LibroRepositoryPlanTests}
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+		properties = "literalura.consola.habilitada=false")
+@Transactional
+@EnabledIfSystemProperty(named = "literalura.planes", matches = "true")
+class LibroRepositoryPlanTests {
+
+	private static final int LIBROS = 20_000;
+
+	// Lo que generaba la consulta derivada findByTituloContainsIgnoreCase, reemplazada por buscarPorTituloIndexado
+	private static final String SQL_ANTERIOR = "SELECT * FROM libros WHERE upper(titulo) LIKE upper(?) ESCAPE '\\'";
+
+	@TestConfiguration
+	static class Configuracion {
+
+		@Bean
+		SentenciasCapturadas sentenciasCapturadas() {
+			return new SentenciasCapturadas();
+		}
+
+		@Bean
+		HibernatePropertiesCustomizer capturarSentencias(SentenciasCapturadas sentencias) {
+			return propiedades -> propiedades.put(AvailableSettings.STATEMENT_INSPECTOR, sentencias);
+		}
+	}
+
+	// Guarda el SQL que Hibernate envia a la base, para explicar exactamente esa consulta
+	static class SentenciasCapturadas implements StatementInspector {
+
+		private final List<String> sentencias = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String inspect(String sql) {
+			sentencias.add(sql);
+			return sql;
+		}
+
+		void limpiar() {
+			sentencias.clear();
+		}
+
+		// La consulta principal; las siguientes cargan las colecciones EAGER
+		String primera() {
+			assertThat(sentencias).isNotEmpty();
+			return sentencias.get(0);
+		}
+	}
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private LibroRepository libroRepository;
+
+	@Autowired
+	private SentenciasCapturadas sentencias;
+
+	@BeforeEach
+	void cargarLibros() {
+		List<Object[]> filas = new ArrayList<>();
+		for (int i = 0; i < LIBROS; i++) {
+			filas.add(new Object[]{"Libro de prueba numero " + i, (double) i});
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO libros (titulo, numero_de_descargas) VALUES (?, ?)", filas);
+		jdbcTemplate.update("INSERT INTO idiomas (codigo) VALUES ('en'), ('fr')");
+		jdbcTemplate.update("""
+				INSERT INTO libro_idiomas (libro_id, idioma_id, orden)
+				SELECT l.id, i.id, 0 FROM libros l JOIN idiomas i ON i.codigo = CASE WHEN CAST(l.numero_de_descargas AS bigint) % 100 = 0 THEN 'fr' ELSE 'en' END
+				""");
+		jdbcTemplate.execute("ANALYZE libros");
+		jdbcTemplate.execute("ANALYZE idiomas");
+		jdbcTemplate.execute("ANALYZE libro_idiomas");
+		sentencias.limpiar();
+	}
+
+	@Test
+	void busquedaPorTituloUsaIndiceTrigram() {
+		String patron = PatronLike.contiene("numero 12345");
+		assertThat(libroRepository.buscarPorTituloIndexado("NUMERO 12345")).isPresent();
+		String planIndexado = plan(sentencias.primera(), patron);
+		String planAnterior = plan(SQL_ANTERIOR, patron);
+
+		System.out.println("Plan anterior:\n" + planAnterior);
+		System.out.println("Plan indexado:\n" + planIndexado);
+
+		assertThat(planAnterior).contains("Seq Scan");
+		assertThat(planIndexado).contains("idx_libros_titulo_trgm");
+		// % y _ se buscan tal cual, no como comodines
+		assertThat(libroRepository.buscarPorTituloIndexado("numero 1_345")).isEmpty();
+		assertThat(libroRepository.buscarPorTituloIndexado("prueba%numero")).isEmpty();
+	}
+
+	@Test
+	void filtroPorIdiomaUsaIndiceDeLaTablaIntermedia() {
+		assertThat(libroRepository.findResumenesPorIdioma("fr")).hasSize(LIBROS / 100);
+		String planFiltro = plan(sentencias.primera(), "fr");
+
+		System.out.println("Plan del filtro:\n" + planFiltro);
+
+		assertThat(planFiltro).contains("idx_libro_idiomas_idioma");
+	}
+
+	private String plan(String consulta, Object... parametros) {
+		return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + consulta, String.class, parametros));
+	}
+}
@@ -0,0 +1,76 @@
+package com.example.literalura_challenge.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * La cache en disco guarda lo mismo que la memoria, tambien entre ejecuciones.
+ */
+class CacheRespuestasTest {
+
+	@TempDir
+	Path directorio;
+
+	@Test
+	void alDesalojarBorraElArchivo() throws IOException {
+		var cache = new CacheRespuestas(2, Duration.ofMinutes(1), directorio);
+		cache.guardar("a", entrada("A"));
+		cache.guardar("b", entrada("B"));
+		cache.guardar("c", entrada("C"));
+
+		assertThat(cache.obtener("a")).isNull();
+		assertThat(cache.getDesalojos()).isEqualTo(1);
+		assertThat(archivos()).isEqualTo(2);
+	}
+
+	@Test
+	void alIniciarCargaLasEntradasYPodaLasQueSobran() throws IOException {
+		var anterior = new CacheRespuestas(10, Duration.ofMinutes(1), directorio);
+		for (int i = 0; i < 5; i++) {
+			anterior.guardar("clave " + i, entrada("cuerpo " + i));
+			Files.setLastModifiedTime(archivoMasNuevo(), FileTime.fromMillis(1_000L * (i + 1)));
+		}
+		Files.writeString(directorio.resolve("danado.cache"), "no es una entrada");
+
+		var cache = new CacheRespuestas(3, Duration.ofMinutes(1), directorio);
+
+		// Quedan las tres mas recientes, en memoria y en disco; el archivo danado se borra
+		assertThat(cache.getTamano()).isEqualTo(3);
+		assertThat(cache.obtener("clave 4").cuerpo()).isEqualTo("cuerpo 4");
+		assertThat(cache.obtener("clave 1")).isNull();
+		assertThat(cache.getDesalojos()).isZero();
+		assertThat(archivos()).isEqualTo(3);
+	}
+
+	private static CacheRespuestas.Entrada entrada(String cuerpo) {
+		return new CacheRespuestas.Entrada(cuerpo, "\"etag\"", null, System.currentTimeMillis());
+	}
+
+	private long archivos() throws IOException {
+		try (Stream<Path> listado = Files.list(directorio)) {
+			return listado.count();
+		}
+	}
+
+	// El ultimo archivo escrito es el unico que todavia no tiene fecha ajustada (mayor a 1970)
+	private Path archivoMasNuevo() throws IOException {
+		try (Stream<Path> listado = Files.list(directorio)) {
+			return listado.filter(archivo -> {
+				try {
+					return Files.getLastModifiedTime(archivo).toMillis() > 1_000_000L;
+				} catch (IOException e) {
+					throw new RuntimeException(e);
+				}
+			}).findFirst().orElseThrow();
+		}
+	}
+}
@@ -0,0 +1,122 @@
+package com.example.literalura_challenge.service;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Compara la latencia por llamada de un HttpClient nuevo en cada consulta
+ * (comportamiento anterior) contra el cliente compartido de {@link ConsumoAPI},
+ * usando un servidor HTTP local que imita una respuesta de Gutendex.
+ * <p>
+ * Ejecutar con: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.literalura_challenge.service.ConsumoAPIBenchmark}
+ */
+public class ConsumoAPIBenchmark {
+    private static final int CALENTAMIENTO = 200;
+    private static final int LLAMADAS = 2000;
+    private static final String RESPUESTA = """
+            {"count":1,"next":null,"previous":null,"results":[{"id":1342,"title":"Pride and Prejudice",
+            "authors":[{"name":"Austen, Jane","birth_year":1775,"death_year":1817}],
+            "languages":["en"],"download_count":75000}]}
+            """;
+
+    public static void main(String[] args) throws Exception {
+        // Sin TCP_NODELAY el servidor local suma ~40 ms por respuesta en conexiones reutilizadas
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        HttpServer servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        byte[] cuerpo = RESPUESTA.getBytes(StandardCharsets.UTF_8);
+        servidor.createContext("/books/", intercambio -> {
+            intercambio.getResponseHeaders().add("Content-Type", "application/json");
+            intercambio.sendResponseHeaders(200, cuerpo.length);
+            try (OutputStream salida = intercambio.getResponseBody()) {
+                salida.write(cuerpo);
+            }
+        });
+        servidor.setExecutor(Executors.newFixedThreadPool(8));
+        servidor.start();
+
+        String url = "http://127.0.0.1:" + servidor.getAddress().getPort() + "/books/?search=pride";
+        try {
+            var consumoApi = new ConsumoAPI();
+
+            medir("Cliente nuevo por llamada", url, ConsumoAPIBenchmark::obtenerConClienteNuevo);
+            medir("Cliente compartido", url, consumoApi::obtenerDatos);
+            medirAsync("Cliente compartido async", url, consumoApi);
+        } finally {
+            servidor.stop(0);
+            ((ExecutorService) servidor.getExecutor()).shutdownNow();
+        }
+    }
+
+    // Reproduce el ConsumoAPI original, que creaba un HttpClient en cada llamada
+    private static String obtenerConClienteNuevo(String url) {
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("User-Agent", "LiteraluraApp/1.0")
+                .build();
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        } catch (IOException | InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void medir(String nombre, String url, Function<String, String> consulta) {
+        for (int i = 0; i < CALENTAMIENTO; i++) {
+            consulta.apply(url);
+        }
+        long[] latencias = new long[LLAMADAS];
+        long inicio = System.nanoTime();
+        for (int i = 0; i < LLAMADAS; i++) {
+            long t0 = System.nanoTime();
+            consulta.apply(url);
+            latencias[i] = System.nanoTime() - t0;
+        }
+        reportar(nombre, latencias, System.nanoTime() - inicio);
+    }
+
+    private static void medirAsync(String nombre, String url, ConsumoAPI consumoApi) {
+        for (int i = 0; i < CALENTAMIENTO; i++) {
+            consumoApi.obtenerDatosAsync(url).join();
+        }
+        long[] latencias = new long[LLAMADAS];
+        List<CompletableFuture<String>> pendientes = new ArrayList<>(LLAMADAS);
+        long inicio = System.nanoTime();
+        for (int i = 0; i < LLAMADAS; i++) {
+            final int indice = i;
+            long t0 = System.nanoTime();
+            pendientes.add(consumoApi.obtenerDatosAsync(url)
+                    .whenComplete((r, e) -> latencias[indice] = System.nanoTime() - t0));
+        }
+        CompletableFuture.allOf(pendientes.toArray(CompletableFuture[]::new)).join();
+        reportar(nombre, latencias, System.nanoTime() - inicio);
+    }
+
+    private static void reportar(String nombre, long[] latencias, long totalNanos) {
+        Arrays.sort(latencias);
+        System.out.printf("%-28s p50: %7.3f ms | p99: %7.3f ms | %8.0f llamadas/s%n", nombre,
+                latencias[latencias.length / 2] / 1e6,
+                latencias[(int) (latencias.length * 0.99)] / 1e6,
+                latencias.length / (totalNanos / 1e9));
+    }
+}
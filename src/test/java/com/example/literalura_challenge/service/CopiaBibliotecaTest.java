@@ -0,0 +1,119 @@
+package com.example.literalura_challenge.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Exportar y restaurar la biblioteca sobre H2 en memoria (perfil embebido):
+ * la copia devuelve exactamente las mismas filas, con nulls y con mas de un bloque.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:copia;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+		"literalura.consola.habilitada=false"
+})
+@ActiveProfiles("embebido")
+class CopiaBibliotecaTest {
+
+	private static final int LIBROS = CopiaBiblioteca.FILAS_POR_BLOQUE + 500;
+	private static final List<String> TABLAS = List.of("libro_idiomas", "libro_autores", "libros", "autores", "idiomas");
+
+	@Autowired
+	private CopiaBiblioteca copiaBiblioteca;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@TempDir
+	Path directorio;
+
+	@Test
+	void restauraLasMismasFilasQueExporto() {
+		vaciar();
+		cargarBiblioteca();
+		Map<String, List<Map<String, Object>>> antes = leerTablas();
+
+		Path archivo = directorio.resolve("biblioteca.bin");
+		var exportada = copiaBiblioteca.exportar(archivo);
+		assertThat(archivo).exists();
+		assertThat(exportada.filas()).containsEntry("libros", (long) LIBROS);
+
+		// Con datos en la base la copia no se restaura
+		assertThatThrownBy(() -> copiaBiblioteca.restaurar(archivo)).hasMessageContaining("vacia");
+
+		vaciar();
+		var restaurada = copiaBiblioteca.restaurar(archivo);
+		assertThat(restaurada.filas()).isEqualTo(exportada.filas());
+		assertThat(leerTablas()).isEqualTo(antes);
+
+		// Los ids nuevos siguen despues del mas alto restaurado
+		Long siguiente = jdbcTemplate.queryForObject("SELECT nextval('libros_seq')", Long.class);
+		assertThat(siguiente).isGreaterThan(LIBROS);
+	}
+
+	@Test
+	void rechazaLaCopiaConUnaBaseQueSeBorraAlSalir() {
+		ReflectionTestUtils.setField(copiaBiblioteca, "ddlAuto", "create-drop");
+		try {
+			Path archivo = directorio.resolve("vacia.bin");
+			assertThatThrownBy(() -> copiaBiblioteca.exportar(archivo)).hasMessageContaining("create-drop");
+			assertThatThrownBy(() -> copiaBiblioteca.restaurar(archivo)).hasMessageContaining("create-drop");
+			assertThat(archivo).doesNotExist();
+		} finally {
+			ReflectionTestUtils.setField(copiaBiblioteca, "ddlAuto", "validate");
+		}
+	}
+
+	// Autores sin anos, libros sin descargas y sin autor, y algunos con dos idiomas
+	private void cargarBiblioteca() {
+		jdbcTemplate.batchUpdate("INSERT INTO idiomas (id, codigo) VALUES (?, ?)",
+				List.of(new Object[]{1, "en"}, new Object[]{2, "es"}));
+		jdbcTemplate.batchUpdate("INSERT INTO autores (id, nombre, fecha_de_nacimiento, fecha_de_fallecimiento) VALUES (?, ?, ?, ?)",
+				List.of(new Object[]{1L, "Austen, Jane", 1775, 1817},
+						new Object[]{2L, "Anonimo", null, null},
+						new Object[]{3L, "Autor vivo", 1960, null}));
+		List<Object[]> libros = new ArrayList<>();
+		List<Object[]> libroAutores = new ArrayList<>();
+		List<Object[]> libroIdiomas = new ArrayList<>();
+		for (long id = 1; id <= LIBROS; id++) {
+			// Ids con saltos, como los deja la reserva de bloques de la secuencia
+			long libroId = id * 3;
+			libros.add(new Object[]{libroId, "Libro " + id + " ñ", id % 7 == 0 ? null : id * 1.5});
+			if (id % 5 != 0) {
+				libroAutores.add(new Object[]{libroId, id % 3 + 1, 0});
+			}
+			libroIdiomas.add(new Object[]{libroId, 1, 0});
+			if (id % 4 == 0) {
+				libroIdiomas.add(new Object[]{libroId, 2, 1});
+			}
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO libros (id, titulo, numero_de_descargas) VALUES (?, ?, ?)", libros);
+		jdbcTemplate.batchUpdate("INSERT INTO libro_autores (libro_id, autor_id, orden) VALUES (?, ?, ?)", libroAutores);
+		jdbcTemplate.batchUpdate("INSERT INTO libro_idiomas (libro_id, idioma_id, orden) VALUES (?, ?, ?)", libroIdiomas);
+	}
+
+	private Map<String, List<Map<String, Object>>> leerTablas() {
+		return Map.of(
+				"idiomas", jdbcTemplate.queryForList("SELECT * FROM idiomas ORDER BY id"),
+				"autores", jdbcTemplate.queryForList("SELECT * FROM autores ORDER BY id"),
+				"libros", jdbcTemplate.queryForList("SELECT * FROM libros ORDER BY id"),
+				"libro_autores", jdbcTemplate.queryForList("SELECT * FROM libro_autores ORDER BY libro_id, orden"),
+				"libro_idiomas", jdbcTemplate.queryForList("SELECT * FROM libro_idiomas ORDER BY libro_id, orden"));
+	}
+
+	private void vaciar() {
+		TABLAS.forEach(tabla -> jdbcTemplate.update("DELETE FROM " + tabla));
+	}
+}
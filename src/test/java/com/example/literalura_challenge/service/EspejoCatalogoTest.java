@@ -0,0 +1,137 @@
+package com.example.literalura_challenge.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Espejo del catalogo creado a partir de una pagina grabada de Gutendex, sin usar la red.
+ */
+class EspejoCatalogoTest {
+
+	private static final String URL_GUTENDEX = "https://gutendex.com/books/";
+
+	// Pagina con sort=descending: un libro nuevo y uno que ya esta en el espejo
+	private static final String PAGINA_RECIENTES = """
+			{"count": 2, "next": "https://gutendex.com/books/?page=2&sort=descending", "results": [
+			  {"id": 70000, "title": "Libro nuevo de prueba", "authors": [{"name": "Autor, Nuevo", "birth_year": 1950, "death_year": null}],
+			   "languages": ["es"], "download_count": 10},
+			  {"id": 17989, "title": "Le comte de Monte-Cristo, Tome I", "authors": [], "languages": ["fr"], "download_count": 4821}
+			]}
+			""";
+
+	// Recorrido completo en dos paginas
+	private static final String PAGINA_1 = """
+			{"count": 3, "next": "https://gutendex.com/books/?page=2&sort=ascending", "results": [
+			  {"id": 1, "title": "Primer libro", "authors": [], "languages": ["en"], "download_count": 5},
+			  {"id": 2, "title": "Segundo libro", "authors": [], "languages": ["en"], "download_count": 4}
+			]}
+			""";
+	private static final String PAGINA_2 = """
+			{"count": 3, "next": null, "results": [
+			  {"id": 3, "title": "Tercer libro", "authors": [], "languages": ["en"], "download_count": 3}
+			]}
+			""";
+
+	@TempDir
+	Path directorio;
+
+	@Test
+	void creaElEspejoYBuscaSinRed() {
+		Path archivo = directorio.resolve("espejo.bin");
+		List<String> consultadas = new ArrayList<>();
+		var espejo = new EspejoCatalogo(archivo, URL_GUTENDEX, new ConsumoAPIGrabado(consultadas,
+				() -> getClass().getResourceAsStream("/gutendex/pagina-libros.json")));
+
+		assertThat(espejo.estaDisponible()).isFalse();
+		assertThat(espejo.sincronizar()).isEqualTo(5);
+		assertThat(consultadas).containsExactly("https://gutendex.com/books/?sort=ascending");
+
+		// Otra instancia lee el archivo y no consulta la red
+		var leido = new EspejoCatalogo(archivo, URL_GUTENDEX, new ConsumoAPIGrabado(consultadas, () -> {
+			throw new AssertionError("No deberia consultar Gutendex");
+		}));
+		assertThat(leido.estaDisponible()).isTrue();
+		assertThat(leido.getCantidad()).isEqualTo(5);
+		assertThat(leido.getUltimoId()).isEqualTo(17989);
+		assertThat(leido.buscar("QUIJOTE")).hasValueSatisfying(libro -> {
+			assertThat(libro.titulo()).isEqualTo("Don Quijote");
+			assertThat(libro.autor()).isNotEmpty();
+			assertThat(libro.idiomas()).containsExactly("es");
+		});
+		assertThat(leido.buscar("no existe")).isEmpty();
+	}
+
+	@Test
+	void laSincronizacionSoloAgregaLosIdsNuevos() {
+		Path archivo = directorio.resolve("espejo.bin");
+		List<String> consultadas = new ArrayList<>();
+		new EspejoCatalogo(archivo, URL_GUTENDEX, new ConsumoAPIGrabado(consultadas,
+				() -> getClass().getResourceAsStream("/gutendex/pagina-libros.json"))).sincronizar();
+		consultadas.clear();
+
+		var espejo = new EspejoCatalogo(archivo, URL_GUTENDEX, new ConsumoAPIGrabado(consultadas,
+				() -> new ByteArrayInputStream(PAGINA_RECIENTES.getBytes(StandardCharsets.UTF_8))));
+
+		assertThat(espejo.sincronizar()).isEqualTo(1);
+		// Deja de pedir paginas al encontrar un id que ya tenia, aunque haya "next"
+		assertThat(consultadas).containsExactly("https://gutendex.com/books/?sort=descending");
+		assertThat(espejo.getCantidad()).isEqualTo(6);
+		assertThat(espejo.getUltimoId()).isEqualTo(70000);
+		assertThat(espejo.buscar("nuevo de prueba")).isPresent();
+	}
+
+	@Test
+	void unRecorridoCompletoInterrumpidoSigueDesdeLaUltimaPaginaGuardada() {
+		Path archivo = directorio.resolve("espejo.bin");
+		List<String> consultadas = new ArrayList<>();
+		var cortado = new EspejoCatalogo(archivo, URL_GUTENDEX, new ConsumoAPIGrabado(consultadas, () -> {
+			if (consultadas.size() > 1) {
+				// Simula que el proceso se corta: un Error no se reintenta
+				throw new AssertionError("Corte en la pagina 2");
+			}
+			return new ByteArrayInputStream(PAGINA_1.getBytes(StandardCharsets.UTF_8));
+		}), 1);
+		assertThatThrownBy(cortado::sincronizar).isInstanceOf(AssertionError.class);
+
+		consultadas.clear();
+		var espejo = new EspejoCatalogo(archivo, URL_GUTENDEX, new ConsumoAPIGrabado(consultadas,
+				() -> new ByteArrayInputStream(PAGINA_2.getBytes(StandardCharsets.UTF_8))), 1);
+		// Con el recorrido a medias no se usa para buscar, pero lo ya descargado quedo guardado
+		assertThat(espejo.estaDisponible()).isFalse();
+		assertThat(espejo.getCantidad()).isEqualTo(2);
+
+		assertThat(espejo.sincronizar()).isEqualTo(1);
+		assertThat(consultadas).containsExactly("https://gutendex.com/books/?page=2&sort=ascending");
+		assertThat(espejo.estaDisponible()).isTrue();
+		assertThat(espejo.getCantidad()).isEqualTo(3);
+		assertThat(new EspejoCatalogo(archivo, URL_GUTENDEX, null).estaDisponible()).isTrue();
+	}
+
+	// Devuelve siempre la misma respuesta grabada y anota las URL pedidas
+	private static class ConsumoAPIGrabado extends ConsumoAPI {
+		private final List<String> consultadas;
+		private final Supplier<InputStream> respuesta;
+
+		ConsumoAPIGrabado(List<String> consultadas, Supplier<InputStream> respuesta) {
+			this.consultadas = consultadas;
+			this.respuesta = respuesta;
+		}
+
+		@Override
+		public InputStream obtenerFlujo(String url) {
+			consultadas.add(url);
+			return respuesta.get();
+		}
+	}
+}
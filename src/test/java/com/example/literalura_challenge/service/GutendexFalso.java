@@ -0,0 +1,311 @@
+package com.example.literalura_challenge.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Servidor HTTP local que imita /books/ de Gutendex con un catalogo sintetico,
+ * para probar la aplicacion sin la red: busqueda por palabras (search), filtro
+ * por idioma (languages), orden (sort=ascending, descending o popular), paginas
+ * de 32 libros enlazadas con next, y una demora y una tasa de errores (429 o
+ * 503) configurables. El catalogo sale de una semilla: siempre es el mismo.
+ * <p>
+ * Para usarlo con la aplicacion completa: {@code mvn test-compile exec:java
+ * -Dexec.classpathScope=test -Dexec.mainClass=com.example.literalura_challenge.service.GutendexFalso
+ * -Dexec.args="70000 50 0.02"} (libros, milisegundos de demora, tasa de errores) y
+ * arrancar la aplicacion con {@code --literalura.gutendex.url=} la direccion que muestra.
+ */
+public class GutendexFalso implements AutoCloseable {
+    public static final int LIBROS_POR_PAGINA = 32;
+
+    private static final String[] PALABRAS = {
+            "Amor", "Guerra", "Mar", "Noche", "Ciudad", "Jardin", "Rio", "Sombra", "Viaje", "Reino",
+            "Pride", "Garden", "River", "Shadow", "Journey", "Island", "Winter", "Secret", "Letters", "Dream",
+            "Histoire", "Voyage", "Coeur", "Nuit", "Roman", "Tales", "Memoirs", "Poems", "Stories", "Adventures"};
+    private static final String[] APELLIDOS = {
+            "Austen", "Cervantes", "Dumas", "Tolstoy", "Dickens", "Verne", "Twain", "Galdos", "Hugo", "Poe",
+            "Shelley", "Bronte", "Wilde", "Melville", "Kafka", "Eca de Queiros", "Balzac", "Stevenson"};
+    private static final String[] NOMBRES = {
+            "Jane", "Miguel", "Alexandre", "Leo", "Charles", "Jules", "Mark", "Benito", "Victor", "Edgar",
+            "Mary", "Emily", "Oscar", "Herman", "Franz", "Jose Maria", "Honore", "Robert Louis"};
+    // Mas de la mitad en ingles, como el catalogo real
+    private static final String[] IDIOMAS = {"en", "en", "en", "en", "en", "es", "fr", "de", "pt", "it"};
+
+    /**
+     * Tamano del catalogo, demora de cada respuesta (mas una variacion al azar de
+     * hasta {@code variacion}) y fraccion de respuestas con error.
+     */
+    public record Configuracion(int libros, Duration latencia, Duration variacion, double tasaErrores, long semilla) {
+        public static Configuracion de(int libros) {
+            return new Configuracion(libros, Duration.ZERO, Duration.ZERO, 0, 42);
+        }
+
+        public Configuracion conLatencia(Duration latencia, Duration variacion) {
+            return new Configuracion(libros, latencia, variacion, tasaErrores, semilla);
+        }
+
+        public Configuracion conErrores(double tasaErrores) {
+            return new Configuracion(libros, latencia, variacion, tasaErrores, semilla);
+        }
+    }
+
+    // Cada libro ya convertido a JSON y su texto en minusculas para la busqueda
+    private record LibroFalso(long id, String titulo, String texto, Set<String> idiomas, double descargas, String json) {
+    }
+
+    private final Configuracion configuracion;
+    private final List<LibroFalso> libros;
+    // Posiciones en cada orden que acepta sort
+    private final int[] porIdAscendente;
+    private final int[] porIdDescendente;
+    private final int[] porDescargas;
+    private final HttpServer servidor;
+    private final ExecutorService hilos = Executors.newCachedThreadPool();
+    private final AtomicLong consultas = new AtomicLong();
+    private final AtomicLong errores = new AtomicLong();
+
+    public GutendexFalso(Configuracion configuracion) {
+        this.configuracion = configuracion;
+        this.libros = generarCatalogo(configuracion);
+        this.porIdAscendente = IntStream.range(0, libros.size()).toArray();
+        this.porIdDescendente = IntStream.range(0, libros.size()).map(i -> libros.size() - 1 - i).toArray();
+        this.porDescargas = IntStream.range(0, libros.size()).boxed()
+                .sorted(Comparator.<Integer>comparingDouble(i -> libros.get(i).descargas()).reversed())
+                .mapToInt(Integer::intValue)
+                .toArray();
+        // Sin TCP_NODELAY el servidor local suma ~40 ms por respuesta en conexiones reutilizadas
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        try {
+            servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        servidor.createContext("/books/", this::responder);
+        // Un hilo por consulta: la demora de una respuesta no retrasa a las demas
+        servidor.setExecutor(hilos);
+        servidor.start();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        var configuracion = Configuracion.de(args.length > 0 ? Integer.parseInt(args[0]) : 70_000)
+                .conLatencia(Duration.ofMillis(args.length > 1 ? Long.parseLong(args[1]) : 50), Duration.ofMillis(20))
+                .conErrores(args.length > 2 ? Double.parseDouble(args[2]) : 0);
+        var servidor = new GutendexFalso(configuracion);
+        System.out.printf("Gutendex falso con %d libros en %s (Ctrl+C para terminar)%n",
+                configuracion.libros(), servidor.getUrl());
+        Thread.currentThread().join();
+    }
+
+    // Direccion equivalente a https://gutendex.com/books/ (valor de literalura.gutendex.url)
+    public String getUrl() {
+        return "http://127.0.0.1:" + servidor.getAddress().getPort() + "/books/";
+    }
+
+    public List<String> getTitulos() {
+        return libros.stream().map(LibroFalso::titulo).toList();
+    }
+
+    public long getConsultas() {
+        return consultas.get();
+    }
+
+    public long getErrores() {
+        return errores.get();
+    }
+
+    @Override
+    public void close() {
+        servidor.stop(0);
+        hilos.shutdownNow();
+    }
+
+    private void responder(HttpExchange intercambio) throws IOException {
+        consultas.incrementAndGet();
+        try (intercambio) {
+            esperar();
+            ThreadLocalRandom azar = ThreadLocalRandom.current();
+            if (configuracion.tasaErrores() > 0 && azar.nextDouble() < configuracion.tasaErrores()) {
+                errores.incrementAndGet();
+                if (azar.nextBoolean()) {
+                    intercambio.getResponseHeaders().add("Retry-After", "1");
+                    intercambio.sendResponseHeaders(429, -1);
+                } else {
+                    intercambio.sendResponseHeaders(503, -1);
+                }
+                return;
+            }
+            byte[] cuerpo = pagina(parametros(intercambio.getRequestURI().getRawQuery()))
+                    .getBytes(StandardCharsets.UTF_8);
+            intercambio.getResponseHeaders().add("Content-Type", "application/json");
+            intercambio.sendResponseHeaders(200, cuerpo.length);
+            try (OutputStream salida = intercambio.getResponseBody()) {
+                salida.write(cuerpo);
+            }
+        }
+    }
+
+    private String pagina(Map<String, String> parametros) {
+        int[] orden = switch (parametros.getOrDefault("sort", "popular")) {
+            case "ascending" -> porIdAscendente;
+            case "descending" -> porIdDescendente;
+            default -> porDescargas;
+        };
+        String[] palabras = parametros.containsKey("search")
+                ? parametros.get("search").toLowerCase(Locale.ROOT).split("\\s+") : new String[0];
+        Set<String> idiomas = parametros.containsKey("languages")
+                ? Set.of(parametros.get("languages").split(",")) : Set.of();
+        int numeroPagina = Math.max(1, Integer.parseInt(parametros.getOrDefault("page", "1")));
+
+        List<LibroFalso> encontrados = new ArrayList<>();
+        for (int posicion : orden) {
+            LibroFalso libro = libros.get(posicion);
+            if (contieneTodas(libro.texto(), palabras)
+                    && (idiomas.isEmpty() || libro.idiomas().stream().anyMatch(idiomas::contains))) {
+                encontrados.add(libro);
+            }
+        }
+        int desde = Math.min((numeroPagina - 1) * LIBROS_POR_PAGINA, encontrados.size());
+        int hasta = Math.min(desde + LIBROS_POR_PAGINA, encontrados.size());
+
+        StringBuilder json = new StringBuilder(512 * (hasta - desde) + 128);
+        json.append("{\"count\":").append(encontrados.size())
+                .append(",\"next\":").append(hasta < encontrados.size() ? enlace(parametros, numeroPagina + 1) : "null")
+                .append(",\"previous\":").append(numeroPagina > 1 ? enlace(parametros, numeroPagina - 1) : "null")
+                .append(",\"results\":[");
+        for (int i = desde; i < hasta; i++) {
+            json.append(i > desde ? "," : "").append(encontrados.get(i).json());
+        }
+        return json.append("]}").toString();
+    }
+
+    // Misma consulta en otra pagina, como el next y el previous de Gutendex
+    private String enlace(Map<String, String> parametros, int numeroPagina) {
+        Map<String, String> otra = new LinkedHashMap<>(parametros);
+        otra.put("page", Integer.toString(numeroPagina));
+        StringBuilder url = new StringBuilder("\"").append(getUrl()).append('?');
+        otra.forEach((nombre, valor) -> url.append(nombre).append('=')
+                .append(URLEncoder.encode(valor, StandardCharsets.UTF_8)).append('&'));
+        url.setLength(url.length() - 1);
+        return url.append('"').toString();
+    }
+
+    private void esperar() {
+        long demora = configuracion.latencia().toMillis();
+        long variacion = configuracion.variacion().toMillis();
+        if (variacion > 0) {
+            demora += ThreadLocalRandom.current().nextLong(variacion + 1);
+        }
+        if (demora > 0) {
+            try {
+                Thread.sleep(demora);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static boolean contieneTodas(String texto, String[] palabras) {
+        for (String palabra : palabras) {
+            if (!palabra.isEmpty() && !texto.contains(palabra)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Map<String, String> parametros(String consulta) {
+        Map<String, String> parametros = new LinkedHashMap<>();
+        if (consulta != null) {
+            for (String par : consulta.split("&")) {
+                int igual = par.indexOf('=');
+                if (igual > 0) {
+                    parametros.put(par.substring(0, igual),
+                            URLDecoder.decode(par.substring(igual + 1), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return parametros;
+    }
+
+    // Titulos unicos de tres palabras y un numero, autores repetidos y descargas concentradas en pocos libros
+    private static List<LibroFalso> generarCatalogo(Configuracion configuracion) {
+        var azar = new Random(configuracion.semilla());
+        var mapper = new ObjectMapper();
+        List<LibroFalso> catalogo = new ArrayList<>(configuracion.libros());
+        int cantidadAutores = Math.max(1, configuracion.libros() / 8);
+        for (int i = 0; i < configuracion.libros(); i++) {
+            long id = i + 1;
+            String titulo = PALABRAS[azar.nextInt(PALABRAS.length)] + " " + PALABRAS[azar.nextInt(PALABRAS.length)]
+                    + " " + PALABRAS[azar.nextInt(PALABRAS.length)] + " " + id;
+
+            List<Map<String, Object>> autores = new ArrayList<>();
+            int cantidad = azar.nextInt(10) == 0 ? 0 : azar.nextInt(8) == 0 ? 2 : 1;
+            StringBuilder texto = new StringBuilder(titulo);
+            for (int a = 0; a < cantidad; a++) {
+                int autor = azar.nextInt(cantidadAutores);
+                int nacimiento = 1500 + autor % 450;
+                Map<String, Object> datos = new LinkedHashMap<>();
+                datos.put("name", APELLIDOS[autor % APELLIDOS.length] + " " + (autor / APELLIDOS.length + 1)
+                        + ", " + NOMBRES[autor % NOMBRES.length]);
+                datos.put("birth_year", nacimiento);
+                datos.put("death_year", autor % 20 == 0 ? null : nacimiento + 40 + autor % 50);
+                autores.add(datos);
+                texto.append(' ').append(datos.get("name"));
+            }
+
+            List<String> idiomas = new ArrayList<>(List.of(IDIOMAS[azar.nextInt(IDIOMAS.length)]));
+            if (azar.nextInt(20) == 0) {
+                String otro = IDIOMAS[azar.nextInt(IDIOMAS.length)];
+                if (!idiomas.contains(otro)) {
+                    idiomas.add(otro);
+                }
+            }
+            double descargas = Math.floor(Math.pow(azar.nextDouble(), 4) * 100_000);
+
+            Map<String, Object> libro = new LinkedHashMap<>();
+            libro.put("id", id);
+            libro.put("title", titulo);
+            libro.put("authors", autores);
+            libro.put("languages", idiomas);
+            libro.put("download_count", (long) descargas);
+            try {
+                catalogo.add(new LibroFalso(id, titulo, texto.toString().toLowerCase(Locale.ROOT),
+                        Set.copyOf(idiomas), descargas, mapper.writeValueAsString(libro)));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return catalogo;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d libros, demora %d+%d ms, errores %.1f%%", configuracion.libros(),
+                configuracion.latencia().toMillis(), configuracion.variacion().toMillis(),
+                configuracion.tasaErrores() * 100);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.literalura_challenge.service;
+
+import com.example.literalura_challenge.model.DatosLibro;
+import com.example.literalura_challenge.model.DatosRespuesta;
+import org.junit.jupiter.api.Test;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * El servidor de pruebas responde como Gutendex a ConsumoAPI y ConvierteDatos:
+ * paginas enlazadas con next, busqueda por palabras y errores reintentables.
+ */
+class GutendexFalsoTest {
+
+	private final ConsumoAPI consumoApi = new ConsumoAPI();
+	private final ConvierteDatos conversor = new ConvierteDatos();
+
+	@Test
+	void recorreElCatalogoSiguiendoNext() {
+		try (var servidor = new GutendexFalso(GutendexFalso.Configuracion.de(100))) {
+			List<Long> ids = new ArrayList<>();
+			String url = servidor.getUrl() + "?sort=ascending";
+			int paginas = 0;
+			while (url != null) {
+				var pagina = conversor.obtenerDatos(consumoApi.obtenerDatos(url), DatosRespuesta.class);
+				assertThat(pagina.total()).isEqualTo(100);
+				pagina.resultados().forEach(libro -> ids.add(libro.id()));
+				url = pagina.siguiente();
+				paginas++;
+			}
+			assertThat(paginas).isEqualTo(4);
+			assertThat(ids).hasSize(100).doesNotHaveDuplicates().isSorted();
+		}
+	}
+
+	@Test
+	void buscaPorLasPalabrasDelTitulo() {
+		try (var servidor = new GutendexFalso(GutendexFalso.Configuracion.de(500))) {
+			String titulo = servidor.getTitulos().get(123);
+			var respuesta = conversor.obtenerDatos(consumoApi.obtenerDatos(servidor.getUrl() + "?search="
+					+ URLEncoder.encode(titulo, StandardCharsets.UTF_8)), DatosRespuesta.class);
+			assertThat(respuesta.resultados()).extracting(DatosLibro::titulo).contains(titulo);
+			assertThat(respuesta.resultados()).allSatisfy(libro -> assertThat(libro.idiomas()).isNotEmpty());
+		}
+	}
+
+	@Test
+	void respondeErroresReintentables() {
+		try (var servidor = new GutendexFalso(GutendexFalso.Configuracion.de(10).conErrores(1))) {
+			assertThatThrownBy(() -> consumoApi.obtenerDatos(servidor.getUrl()))
+					.isInstanceOfSatisfying(ErrorGutendex.class, error -> assertThat(error.esReintentable()).isTrue());
+			assertThat(servidor.getErrores()).isEqualTo(1);
+		}
+	}
+}
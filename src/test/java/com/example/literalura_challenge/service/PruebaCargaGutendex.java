@@ -0,0 +1,178 @@
+package com.example.literalura_challenge.service;
+
+import com.example.literalura_challenge.LiteraluraChallengeApplication;
+import com.example.literalura_challenge.repository.LibroRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prueba de carga sin red: levanta {@link GutendexFalso} y la aplicacion completa
+ * (perfil embebido, con H2 en memoria) apuntando a el, y repite busquedas por
+ * titulo desde varios hilos y la importacion del catalogo. Informa la latencia
+ * (p50 y p99) y las operaciones por segundo.
+ * <p>
+ * Ejecutar con: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.literalura_challenge.service.PruebaCargaGutendex}
+ * <p>
+ * Se ajusta con propiedades del sistema (entre parentesis, el valor por defecto):
+ * carga.modo (ambos, busqueda o importacion), carga.libros (5000), carga.latencia
+ * y carga.variacion en ms (20 y 10), carga.errores (0.0), carga.busquedas (2000)
+ * y carga.hilos (8). Termina con codigo 1 ante errores que el servidor no genero a
+ * proposito o si la importacion no guardo todo el catalogo, para usarla en CI.
+ */
+public class PruebaCargaGutendex {
+
+    public static void main(String[] args) {
+        String modo = System.getProperty("carga.modo", "ambos");
+        var configuracion = GutendexFalso.Configuracion.de(Integer.getInteger("carga.libros", 5000))
+                .conLatencia(Duration.ofMillis(Long.getLong("carga.latencia", 20)),
+                        Duration.ofMillis(Long.getLong("carga.variacion", 10)))
+                .conErrores(Double.parseDouble(System.getProperty("carga.errores", "0")));
+
+        boolean fallas = false;
+        try (var servidor = new GutendexFalso(configuracion);
+             ConfigurableApplicationContext contexto = iniciarAplicacion(servidor)) {
+            System.out.printf("%nGutendex falso: %s en %s%n", servidor, servidor.getUrl());
+            if (!modo.equals("importacion")) {
+                fallas |= buscar(contexto.getBean(LibroService.class), servidor.getTitulos(),
+                        Integer.getInteger("carga.busquedas", 2000), Integer.getInteger("carga.hilos", 8),
+                        configuracion.tasaErrores() > 0);
+            }
+            if (!modo.equals("busqueda")) {
+                fallas |= importar(contexto, configuracion.libros());
+            }
+            System.out.printf("Consultas recibidas por el servidor: %d (%d con error)%n",
+                    servidor.getConsultas(), servidor.getErrores());
+        }
+        System.exit(fallas ? 1 : 0);
+    }
+
+    private static ConfigurableApplicationContext iniciarAplicacion(GutendexFalso servidor) {
+        return new SpringApplicationBuilder(LiteraluraChallengeApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .run("--spring.profiles.active=embebido",
+                        "--spring.datasource.url=jdbc:h2:mem:carga;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;"
+                                + "DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+                        "--literalura.gutendex.url=" + servidor.getUrl(),
+                        "--literalura.consola.habilitada=false",
+                        "--management.metrics.distribution.percentiles.gutendex.http.latencia=0.5,0.99");
+    }
+
+    /**
+     * Busquedas como las de la opcion 1: la mayoria por titulo completo, algunas
+     * por dos palabras (varias paginas de resultados) y algunas sin resultados.
+     * Cada titulo se busca una vez, asi la cache de respuestas no oculta al servidor.
+     * Devuelve si hubo errores distintos de los 429/503 que el servidor genera a proposito.
+     */
+    private static boolean buscar(LibroService libroService, List<String> titulos, int cantidad, int hilos,
+                                  boolean erroresEsperados) {
+        var azar = new Random(7);
+        List<String> mezclados = new ArrayList<>(titulos);
+        Collections.shuffle(mezclados, azar);
+        List<String> busquedas = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            String titulo = mezclados.get(i % mezclados.size());
+            int tipo = azar.nextInt(10);
+            busquedas.add(tipo < 7 ? titulo
+                    : tipo < 9 ? titulo.substring(0, titulo.indexOf(' ', titulo.indexOf(' ') + 1))
+                    : "Titulo inexistente " + i);
+        }
+
+        long[] latencias = new long[cantidad];
+        Map<String, Integer> errores = new TreeMap<>();
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        long inicio = System.nanoTime();
+        try {
+            List<CompletableFuture<Void>> pendientes = new ArrayList<>(cantidad);
+            for (int i = 0; i < cantidad; i++) {
+                final int indice = i;
+                pendientes.add(CompletableFuture.runAsync(() -> {
+                    long t0 = System.nanoTime();
+                    try {
+                        libroService.buscarEnGutendex(busquedas.get(indice));
+                    } catch (ErrorGutendex e) {
+                        contar(errores, (erroresEsperados && e.esReintentable() ? "" : "inesperado ")
+                                + "HTTP " + e.getEstado());
+                    } catch (RuntimeException e) {
+                        contar(errores, "inesperado " + e.getClass().getSimpleName());
+                    } finally {
+                        latencias[indice] = System.nanoTime() - t0;
+                    }
+                }, ejecutor));
+            }
+            CompletableFuture.allOf(pendientes.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            ejecutor.shutdownNow();
+        }
+        reportar("Busquedas (" + hilos + " hilos)", latencias, System.nanoTime() - inicio, "busquedas/s");
+        if (!errores.isEmpty()) {
+            System.out.println("  Busquedas con error: " + errores);
+        }
+        return errores.keySet().stream().anyMatch(tipo -> tipo.startsWith("inesperado"));
+    }
+
+    // La importacion completa; la latencia por pagina sale de la metrica gutendex.http.latencia
+    private static boolean importar(ConfigurableApplicationContext contexto, int libros) {
+        long inicio = System.nanoTime();
+        boolean fallo = false;
+        try {
+            contexto.getBean(ImportadorCatalogo.class).importar();
+        } catch (RuntimeException e) {
+            System.out.println("  La importacion fallo: " + e.getMessage());
+            fallo = true;
+        }
+        long total = System.nanoTime() - inicio;
+        long guardados = contexto.getBean(LibroRepository.class).count();
+
+        Timer paginas = contexto.getBean(MeterRegistry.class).find("gutendex.http.latencia")
+                .tag("tipo", "flujo").tag("estado", "200").timer();
+        if (paginas != null) {
+            ValueAtPercentile[] percentiles = paginas.takeSnapshot().percentileValues();
+            System.out.printf("%-28s p50: %7.3f ms | p99: %7.3f ms | %8.0f paginas/s%n", "Importacion (paginas)",
+                    valor(percentiles, 0.5), valor(percentiles, 0.99), paginas.count() / (total / 1e9));
+        }
+        System.out.printf("%-28s %d de %d libros en %.1f s | %8.0f libros/s%n", "Importacion (libros)",
+                guardados, libros, total / 1e9, guardados / (total / 1e9));
+        return fallo || guardados < libros;
+    }
+
+    private static synchronized void contar(Map<String, Integer> errores, String tipo) {
+        errores.merge(tipo, 1, Integer::sum);
+    }
+
+    private static double valor(ValueAtPercentile[] percentiles, double percentil) {
+        return Arrays.stream(percentiles)
+                .filter(valor -> valor.percentile() == percentil)
+                .mapToDouble(valor -> valor.value(TimeUnit.MILLISECONDS))
+                .findFirst()
+                .orElse(Double.NaN);
+    }
+
+    // Mismo formato que ConsumoAPIBenchmark
+    private static void reportar(String nombre, long[] latencias, long totalNanos, String unidad) {
+        Arrays.sort(latencias);
+        System.out.printf("%-28s p50: %7.3f ms | p99: %7.3f ms | %8.0f %s%n", nombre,
+                latencias[latencias.length / 2] / 1e6,
+                latencias[(int) (latencias.length * 0.99)] / 1e6,
+                latencias.length / (totalNanos / 1e9), unidad);
+    }
+}
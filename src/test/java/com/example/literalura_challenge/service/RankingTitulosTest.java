@@ -0,0 +1,80 @@
+package com.example.literalura_challenge.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Orden de los titulos candidatos de una busqueda: exacto, luego prefijo, luego con
+ * errores de tipeo, y los que cubren poco de lo buscado quedan afuera.
+ */
+class RankingTitulosTest {
+
+	@Test
+	void normalizaAcentosMayusculasYSignos() {
+		assertThat(RankingTitulos.normalizar("Don Quijote de la Mancha!")).isEqualTo("don quijote de la mancha");
+		assertThat(RankingTitulos.normalizar("  Cien años   de soledad. ")).isEqualTo("cien anos de soledad");
+		assertThat(RankingTitulos.palabras("")).isEmpty();
+		assertThat(new RankingTitulos("Dón QUIJOTE").relevancia("don quijote!")).isEqualTo(1);
+	}
+
+	@Test
+	void exactoAntesQuePrefijoYPrefijoAntesQueErrorDeTipeo() {
+		var ranking = new RankingTitulos("pride");
+
+		double exacto = ranking.relevancia("Pride");
+		double prefijo = ranking.relevancia("Prideful");
+		double tipeo = ranking.relevancia("Pryde");
+
+		assertThat(exacto).isEqualTo(1);
+		assertThat(prefijo).isCloseTo(0.90, within(1e-9));
+		assertThat(tipeo).isCloseTo(0.72, within(1e-9));
+	}
+
+	@Test
+	void premiaLaCoberturaYDespuesLaPrecision() {
+		var ranking = new RankingTitulos("pride prejudice");
+
+		double completo = ranking.relevancia("Pride and Prejudice");
+		double conPalabrasDeMas = ranking.relevancia("Pride and Prejudice and Zombies Returns");
+		double mitad = ranking.relevancia("Pride");
+
+		// Las dos palabras estan, pero el titulo largo agrega mas palabras que no se buscaron
+		assertThat(completo).isGreaterThan(conPalabrasDeMas).isGreaterThanOrEqualTo(RankingTitulos.RELEVANCIA_SUFICIENTE);
+		assertThat(conPalabrasDeMas).isGreaterThan(mitad);
+		assertThat(mitad).isCloseTo(0.5, within(1e-9));
+	}
+
+	@Test
+	void laDistanciaDeEdicionTieneUnLimiteSegunElLargoDeLaPalabra() {
+		// Hasta 7 letras se tolera un error
+		assertThat(new RankingTitulos("quijote").relevancia("Quixote")).isGreaterThan(0);
+		assertThat(new RankingTitulos("quijote").relevancia("Quxxote")).isZero();
+		// Desde 8 letras se toleran dos
+		assertThat(new RankingTitulos("prejudice").relevancia("Prejodise")).isGreaterThan(0);
+		assertThat(new RankingTitulos("prejudice").relevancia("Projodise")).isZero();
+		// Las palabras de menos de 4 letras tienen que coincidir tal cual
+		assertThat(new RankingTitulos("the").relevancia("Tha")).isZero();
+	}
+
+	@Test
+	void descartaLosTitulosPocoRelevantes() {
+		var ranking = new RankingTitulos("war peace");
+
+		assertThat(ranking.relevancia("The War of the Worlds")).isLessThan(RankingTitulos.RELEVANCIA_MINIMA);
+		assertThat(ranking.relevancia("War and Peace")).isGreaterThanOrEqualTo(RankingTitulos.RELEVANCIA_SUFICIENTE);
+		assertThat(ranking.relevancia("")).isZero();
+		assertThat(new RankingTitulos("!!").relevancia("War and Peace")).isZero();
+	}
+
+	@Test
+	void entreIgualDeRelevantesGanaElMasDescargado() {
+		var ranking = new RankingTitulos("emma");
+		double relevancia = ranking.relevancia("Emma");
+
+		assertThat(ranking.puntaje(relevancia, 100_000.0)).isGreaterThan(ranking.puntaje(relevancia, 10.0));
+		assertThat(ranking.puntaje(relevancia, 99_999.0)).isCloseTo(1.25, within(1e-9));
+		assertThat(ranking.puntaje(relevancia, null)).isEqualTo(relevancia);
+	}
+}
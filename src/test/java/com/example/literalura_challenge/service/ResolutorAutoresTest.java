@@ -0,0 +1,59 @@
+package com.example.literalura_challenge.service;
+
+import com.example.literalura_challenge.model.Autor;
+import com.example.literalura_challenge.model.DatosAutor;
+import com.example.literalura_challenge.model.DatosLibro;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Los autores de una pagina quedan guardados con el lote de resolverPagina aun con
+ * las conexiones sin auto-commit, como las deja el perfil masivo.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:autores;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+		"literalura.consola.habilitada=false",
+		// Lo mismo que application-masivo.properties, sin las propiedades propias del driver de PostgreSQL
+		"spring.datasource.hikari.auto-commit=false",
+		"spring.jpa.properties.hibernate.connection.provider_disables_autocommit=true"
+})
+@ActiveProfiles("embebido")
+class ResolutorAutoresTest {
+
+	@Autowired
+	private ResolutorAutores resolutorAutores;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void guardaLosAutoresDeLaPaginaEnUnLote() {
+		var austen = new DatosAutor("Austen, Jane", 1775, 1817);
+		var anonimo = new DatosAutor("Anonimo", null, null);
+		var shelley = new DatosAutor("Shelley, Mary", 1797, 1851);
+		List<DatosLibro> pagina = List.of(
+				new DatosLibro(1L, "Pride and Prejudice", List.of(austen), List.of("en"), 100.0),
+				new DatosLibro(2L, "Emma", List.of(austen, anonimo), List.of("en"), 50.0),
+				new DatosLibro(3L, "Frankenstein", List.of(shelley), List.of("en"), 80.0));
+
+		resolutorAutores.resolverPagina(pagina);
+
+		// Confirmados por el lote, antes de que resolver() pase por la base
+		assertThat(jdbcTemplate.queryForList("SELECT nombre FROM autores ORDER BY nombre", String.class))
+				.containsExactly("Anonimo", "Austen, Jane", "Shelley, Mary");
+		Autor autor = resolutorAutores.resolver(austen);
+		assertThat(jdbcTemplate.queryForObject("SELECT id FROM autores WHERE nombre = 'Austen, Jane'", Long.class))
+				.isEqualTo(autor.getId());
+
+		// La misma pagina otra vez no duplica a nadie, tampoco al autor sin anos
+		resolutorAutores.resolverPagina(pagina);
+		assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM autores", Integer.class)).isEqualTo(3);
+	}
+}